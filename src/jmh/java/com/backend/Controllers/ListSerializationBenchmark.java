@@ -0,0 +1,62 @@
+package com.backend.Controllers;
+
+import com.backend.Models.TestProjects;
+import com.backend.Models.TestProjectsView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON serialization of a GET /api/test page, as entities and as the read-side views
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    // Configured the way Spring Boot configures the application's ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<TestProjects> entities;
+    private List<TestProjectsView> views;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            TestProjects project = new TestProjects();
+            project.setId(i);
+            project.setName("project-" + i);
+            entities.add(project);
+            views.add(new TestProjectsView(i, "project-" + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backend.Controllers;
+
+import com.backend.LocalPostgres;
+import com.backend.Models.TestProjects;
+import com.backend.Models.TestProjectsView;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The GET /api/test page query through the previous read path (a native query mapped to managed TestProjects
+// entities in a JPA read-only transaction) and the current one (a JdbcTemplate RowMapper into TestProjectsView in
+// a DataSourceTransactionManager read-only transaction). Needs PostgreSQL: embedded, or TEST_DATABASE_URL.
+//
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="ReadPathBenchmark -prof gc"
+// gc.alloc.rate.norm is the bytes allocated per page read.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    private static final String PAGE_SQL = "SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" > ? ORDER BY \"Id\" LIMIT ?";
+    private static final RowMapper<TestProjectsView> VIEW_ROW_MAPPER =
+            (rs, rowNum) -> new TestProjectsView(rs.getInt(1), rs.getString(2));
+
+    // 1 is the shape of GET /api/test/{id}; 100 is the default page size, 1000 the maximum
+    @Param({"1", "100", "1000"})
+    public int limit;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate jpaReadOnly;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate jdbcReadOnly;
+
+    @Setup
+    public void setUp() {
+        LocalPostgres postgres = LocalPostgres.shared();
+        postgres.recreateSchema();
+        postgres.seed(10_000);
+
+        dataSource = new HikariDataSource();
+        dataSource.setDataSource(postgres.getDataSource());
+        dataSource.setMaximumPoolSize(1);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.backend.Models");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        // The transaction-bound proxy Spring injects for @Autowired EntityManager
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        jpaReadOnly = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        jpaReadOnly.setReadOnly(true);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcReadOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcReadOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<TestProjects> jpaEntities() {
+        return jpaReadOnly.execute(status -> {
+            Query query = entityManager.createNativeQuery("SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" > :after ORDER BY \"Id\" LIMIT :limit", TestProjects.class);
+            query.setParameter("after", 0);
+            query.setParameter("limit", limit);
+            @SuppressWarnings("unchecked")
+            List<TestProjects> projects = query.getResultList();
+            return projects;
+        });
+    }
+
+    @Benchmark
+    public List<TestProjectsView> jdbcViews() {
+        return jdbcReadOnly.execute(status -> jdbcTemplate.query(PAGE_SQL, VIEW_ROW_MAPPER, 0, limit));
+    }
+}
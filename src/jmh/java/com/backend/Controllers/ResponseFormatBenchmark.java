@@ -0,0 +1,76 @@
+package com.backend.Controllers;
+
+import com.backend.Models.TestProjectsView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encoding cost of a GET /api/test page per negotiated format, with and without the gzip Tomcat applies
+// to responses over server.compression.min-response-size. JMH only reports time and allocation, so the encoded
+// size of each combination is printed in the run log as a "[size] ..." line.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<TestProjectsView> views;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The builders Spring MVC uses for its default JSON, CBOR and Smile converters
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        views = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            views.add(new TestProjectsView(i, "project-" + i));
+        }
+        System.out.println("[size] format=" + format + " gzip=" + gzip + " rows=" + size + " bytes=" + encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 32);
+        if (!gzip) {
+            objectMapper.writeValue(bytes, views);
+            return bytes.toByteArray();
+        }
+        try (GZIPOutputStream compressed = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(compressed, views);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.backend.Exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+// escapeJson and the report payload, next to the five-pass escape and String.format build they replaced
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorReportBenchmark {
+
+    private String stackTrace;
+    private ErrorReport report;
+
+    @Setup
+    public void setUp() {
+        // A realistically deep trace, with the tabs and newlines that need escaping
+        StringWriter writer = new StringWriter();
+        new IllegalStateException("Failed to process \"request\"", deepException(60)).printStackTrace(new PrintWriter(writer));
+        stackTrace = writer.toString();
+        report = new ErrorReport("0123456789abcdef01234567", "2024-01-01T00:00:00Z", "TestController.java", 42,
+                stackTrace, "Failed to process \"request\"", IllegalStateException.class.getName(),
+                "/api/test/17", "GET", "Mozilla/5.0 (X11; Linux x86_64)");
+    }
+
+    @Benchmark
+    public String escapeJson() {
+        return ErrorReport.escapeJson(stackTrace);
+    }
+
+    @Benchmark
+    public String escapeJsonReplaceChain() {
+        return escapeJsonReplaceChain(stackTrace);
+    }
+
+    @Benchmark
+    public String payload() {
+        return report.toJson(1);
+    }
+
+    @Benchmark
+    public String payloadStringFormat() {
+        return String.format(
+                "{\"boardId\":%s,\"timestamp\":\"%s\",\"file\":%s,\"line\":%s,\"stackTrace\":%s,\"message\":%s,\"exceptionType\":%s,\"requestPath\":%s,\"requestMethod\":%s,\"userAgent\":%s,\"occurrences\":%d}",
+                "\"" + report.boardId() + "\"",
+                report.timestamp(),
+                "\"" + escapeJsonReplaceChain(report.file()) + "\"",
+                report.line().toString(),
+                "\"" + escapeJsonReplaceChain(report.stackTrace()) + "\"",
+                "\"" + escapeJsonReplaceChain(report.message()) + "\"",
+                "\"" + report.exceptionType() + "\"",
+                "\"" + escapeJsonReplaceChain(report.requestPath()) + "\"",
+                "\"" + escapeJsonReplaceChain(report.requestMethod()) + "\"",
+                "\"" + escapeJsonReplaceChain(report.userAgent()) + "\"",
+                1
+        );
+    }
+
+    private static String escapeJsonReplaceChain(String str) {
+        return str.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+    }
+
+    private static Throwable deepException(int depth) {
+        if (depth == 0) {
+            return new ArithmeticException("/ by zero");
+        }
+        return deepException(depth - 1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.backend.Exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// extractBoardId for the cheapest (header) and the most expensive (Railway host name) lookups
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtractBoardIdBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest fromHeader;
+    private MockHttpServletRequest fromHost;
+    private MockHttpServletRequest notFound;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        ReflectionTestUtils.setField(handler, "environment", new MockEnvironment());
+
+        fromHeader = new MockHttpServletRequest("GET", "/api/test/17");
+        fromHeader.addHeader("X-Board-Id", "0123456789abcdef01234567");
+
+        fromHost = new MockHttpServletRequest("GET", "/api/test/17");
+        fromHost.setServerName("webapi0123456789abcdef01234567.up.railway.app");
+
+        notFound = new MockHttpServletRequest("GET", "/api/test/17");
+        notFound.setServerName("backend.example.com");
+    }
+
+    @Benchmark
+    public String header() {
+        return handler.extractBoardId(fromHeader);
+    }
+
+    @Benchmark
+    public String hostName() {
+        return handler.extractBoardId(fromHost);
+    }
+
+    @Benchmark
+    public String notFound() {
+        return handler.extractBoardId(notFound);
+    }
+}
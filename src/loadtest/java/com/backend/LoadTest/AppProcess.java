@@ -0,0 +1,146 @@
+package com.backend.LoadTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The application as a separate JVM, the way it runs in production
+public final class AppProcess implements AutoCloseable {
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final Process process;
+    private final int port;
+    private final Path log;
+    private final Duration timeToFirstResponse;
+
+    private AppProcess(Process process, int port, Path log, Duration timeToFirstResponse) {
+        this.process = process;
+        this.port = port;
+        this.log = log;
+        this.timeToFirstResponse = timeToFirstResponse;
+    }
+
+    // command is everything after the java executable, e.g. [-Xmx512m, -jar, target/backend-1.0.0.jar];
+    // settings with a dot are passed as --key=value arguments, the rest as environment variables
+    public static AppProcess start(String name, List<String> command, String databaseUrl,
+                                   Map<String, String> settings, Path logDirectory) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> commandLine = new ArrayList<>();
+        commandLine.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        commandLine.addAll(command);
+
+        Map<String, String> environment = new LinkedHashMap<>();
+        environment.put("DATABASE_URL", databaseUrl);
+        environment.put("PORT", Integer.toString(port));
+        for (Map.Entry<String, String> setting : settings.entrySet()) {
+            if (setting.getKey().contains(".")) {
+                commandLine.add("--" + setting.getKey() + "=" + setting.getValue());
+            } else {
+                environment.put(setting.getKey(), setting.getValue());
+            }
+        }
+
+        Files.createDirectories(logDirectory);
+        Path log = logDirectory.resolve(name + ".log");
+        ProcessBuilder builder = new ProcessBuilder(commandLine)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putAll(environment);
+
+        long started = System.nanoTime();
+        Process process = builder.start();
+        AppProcess app = null;
+        try {
+            awaitFirstResponse(process, port, log);
+            app = new AppProcess(process, port, log, Duration.ofNanos(System.nanoTime() - started));
+            return app;
+        } finally {
+            if (app == null) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    public static List<String> jarCommand(String jvmArgs, String jar) {
+        List<String> command = new ArrayList<>(splitArgs(jvmArgs));
+        command.add("-jar");
+        command.add(jar);
+        return command;
+    }
+
+    public static List<String> splitArgs(String args) {
+        List<String> split = new ArrayList<>();
+        if (args != null) {
+            for (String arg : args.trim().split("\\s+")) {
+                if (!arg.isEmpty()) {
+                    split.add(arg);
+                }
+            }
+        }
+        return split;
+    }
+
+    // From process start to the first 200 from GET /, which needs the full context and a warm pool
+    private static void awaitFirstResponse(Process process, int port, Path log) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + "; see " + log);
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not answer GET / within 3 minutes; see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    public Duration getTimeToFirstResponse() {
+        return timeToFirstResponse;
+    }
+
+    public File getLog() {
+        return log.toFile();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.backend.LoadTest;
+
+import com.backend.LocalPostgres;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+// Throughput and heap of POST /api/test/import and GET /api/test/export for a multi-million-row table.
+// The application runs with a small fixed heap, so a run that completes shows the rows are streamed.
+//
+// mvn -Ploadtest package exec:java@copy-benchmark -DskipTests
+//   -Dloadtest.rows=2000000           rows imported, then exported as CSV and as binary
+//   -Dloadtest.jvm-args="-Xmx256m"    options for the application JVM
+public final class CopyBenchmark {
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("loadtest.rows", 2_000_000);
+        String jvmArgs = System.getProperty("loadtest.jvm-args", "-Xmx256m");
+        String jar = System.getProperty("loadtest.jar");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+        if (jar == null) {
+            throw new IllegalStateException("loadtest.jar is not set; run through mvn -Ploadtest");
+        }
+
+        LocalPostgres postgres = LocalPostgres.shared();
+        postgres.recreateSchema();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("== COPY: %d rows, application JVM %s%n", rows, jvmArgs));
+        report.append(String.format("%-14s %12s %10s %12s %10s %16s%n", "operation", "rows", "seconds", "rows/s", "MB/s", "peak heap MB"));
+
+        try (AppProcess app = AppProcess.start("copy-benchmark", AppProcess.jarCommand(jvmArgs, jar),
+                postgres.getDatabaseUrl(), Map.of(), output)) {
+            report.append(measure(app, "import csv", rows, () -> {
+                CountingInputStream body = new CountingInputStream(LocalPostgres.generatedRows(rows));
+                HttpRequest request = HttpRequest.newBuilder(app.uri("/api/test/import"))
+                        .header("Content-Type", "text/csv")
+                        .POST(HttpRequest.BodyPublishers.ofInputStream(() -> body))
+                        .build();
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Import failed with " + response.statusCode() + "; see " + app.getLog());
+                }
+                return body.count;
+            }));
+            report.append(measure(app, "export csv", rows, () -> export(app, "csv")));
+            report.append(measure(app, "export binary", rows, () -> export(app, "binary")));
+        }
+        System.out.println();
+        System.out.println(report);
+    }
+
+    private static long export(AppProcess app, String format) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(app.uri("/api/test/export?format=" + format)).build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Export failed with " + response.statusCode() + "; see " + app.getLog());
+        }
+        long bytes = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = response.body()) {
+            for (int read; (read = body.read(buffer)) >= 0; ) {
+                bytes += read;
+            }
+        }
+        return bytes;
+    }
+
+    private static String measure(AppProcess app, String operation, int rows, Transfer transfer) throws Exception {
+        HeapSampler sampler = new HeapSampler(app);
+        sampler.start();
+        long started = System.nanoTime();
+        long bytes = transfer.run();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+        System.out.println("[copy-benchmark] " + operation + " done in " + String.format("%.1f", seconds) + " s");
+        return String.format("%-14s %12d %10.1f %12.0f %10.1f %16.0f%n", operation, rows, seconds, rows / seconds,
+                bytes / seconds / (1 << 20), sampler.peak / (1 << 20));
+    }
+
+    private interface Transfer {
+        // Returns the bytes transferred
+        long run() throws Exception;
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final InputStream delegate;
+        private long count;
+
+        private CountingInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    // Samples used heap every 50 ms; the reported peak is the largest sample
+    private static final class HeapSampler extends Thread {
+        private final AppProcess app;
+        private volatile double peak;
+
+        private HeapSampler(AppProcess app) {
+            super("heap-sampler");
+            setDaemon(true);
+            this.app = app;
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                try {
+                    peak = Math.max(peak, Prometheus.scrape(app).get("jvm_memory_used_bytes", "area=\"heap\""));
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    // Skip a sample the busy application could not answer
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.backend.LoadTest;
+
+import com.backend.LocalPostgres;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop load test: boots the application jar against a seeded PostgreSQL and drives /api/test
+// with a weighted mix of routes, once per variant (a set of environment variables or properties).
+//
+// mvn -Ploadtest package exec:java@loadtest -DskipTests
+//   -Dloadtest.rows=100000            rows seeded into TestProjects before each variant
+//   -Dloadtest.concurrency=64         concurrent clients, each sending its next request when the last one completes
+//   -Dloadtest.warmup=10s -Dloadtest.duration=30s
+//   -Dloadtest.mix=getById:60,list:10,search:10,create:10,update:8,delete:2   (also: batch)
+//   -Dloadtest.variants="platform:;virtual:VIRTUAL_THREADS_ENABLED=true"      name:KEY=VALUE,... separated by ;
+//   group commit: -Dloadtest.mix=create:100 -Dloadtest.variants="single:;grouped:GROUP_COMMIT_ENABLED=true"
+//   -Dloadtest.jvm-args="-Xmx512m"    options for the application JVM
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX = "getById:60,list:10,search:10,create:10,update:8,delete:2";
+
+    private final int rows;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<String, Integer> mix;
+    private final String jvmArgs;
+    private final String jar;
+    private final Path output;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong names = new AtomicLong();
+
+    private LoadTest() {
+        rows = Integer.getInteger("loadtest.rows", 100_000);
+        concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        warmup = duration(System.getProperty("loadtest.warmup", "10s"));
+        duration = duration(System.getProperty("loadtest.duration", "30s"));
+        mix = weights(System.getProperty("loadtest.mix", DEFAULT_MIX));
+        jvmArgs = System.getProperty("loadtest.jvm-args", "");
+        jar = System.getProperty("loadtest.jar");
+        output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+        if (jar == null) {
+            throw new IllegalStateException("loadtest.jar is not set; run through mvn -Ploadtest");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest();
+        Map<String, Map<String, String>> variants = variants(System.getProperty("loadtest.variants", "default:"));
+        LocalPostgres postgres = LocalPostgres.shared();
+        List<String> reports = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> variant : variants.entrySet()) {
+            reports.add(loadTest.run(postgres, variant.getKey(), variant.getValue()));
+        }
+        System.out.println();
+        reports.forEach(System.out::println);
+    }
+
+    private String run(LocalPostgres postgres, String name, Map<String, String> settings) throws Exception {
+        System.out.println("[" + name + "] seeding " + rows + " rows");
+        postgres.recreateSchema();
+        postgres.seed(rows);
+
+        try (AppProcess app = AppProcess.start(name, AppProcess.jarCommand(jvmArgs, jar), postgres.getDatabaseUrl(), settings, output)) {
+            System.out.println("[" + name + "] started in " + app.getTimeToFirstResponse().toMillis() + " ms, warming up for " + warmup.toSeconds() + " s");
+            drive(app, warmup, new LinkedHashMap<>());
+
+            System.out.println("[" + name + "] measuring for " + duration.toSeconds() + " s at concurrency " + concurrency);
+            Map<String, RouteStats> stats = new LinkedHashMap<>();
+            mix.keySet().forEach(route -> stats.put(route, new RouteStats()));
+            Prometheus before = Prometheus.scrape(app);
+            PoolSampler sampler = new PoolSampler(app);
+            sampler.start();
+            long started = System.nanoTime();
+            drive(app, duration, stats);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            sampler.interrupt();
+            sampler.join();
+            Prometheus after = Prometheus.scrape(app);
+            return report(name, settings, seconds, stats, before, after, sampler);
+        }
+    }
+
+    private void drive(AppProcess app, Duration length, Map<String, RouteStats> stats) throws InterruptedException {
+        long deadline = System.nanoTime() + length.toNanos();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String route = pick(random.nextInt(totalWeight));
+                    HttpRequest request = request(app, route, random);
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    RouteStats routeStats = stats.get(route);
+                    if (routeStats != null) {
+                        routeStats.record(status, (System.nanoTime() - sent) / 1000);
+                    }
+                }
+            }, "load-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private String pick(int roll) {
+        for (Map.Entry<String, Integer> route : mix.entrySet()) {
+            roll -= route.getValue();
+            if (roll < 0) {
+                return route.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private HttpRequest request(AppProcess app, String route, ThreadLocalRandom random) {
+        int id = random.nextInt(1, rows + 1);
+        return switch (route) {
+            case "getById" -> get(app, "/api/test/" + id);
+            case "list" -> get(app, "/api/test?after=" + random.nextInt(rows) + "&limit=50");
+            case "search" -> get(app, "/api/test/search?q=ject-" + random.nextInt(1, 1000));
+            case "create" -> json(app, "/api/test", "POST", "{\"name\":\"load-" + names.incrementAndGet() + "\"}");
+            case "update" -> json(app, "/api/test/" + id, "PUT", "{\"name\":\"updated-" + names.incrementAndGet() + "\"}");
+            case "delete" -> HttpRequest.newBuilder(app.uri("/api/test/" + id)).timeout(Duration.ofSeconds(30)).DELETE().build();
+            case "batch" -> json(app, "/api/test/batch", "POST", "{\"create\":[{\"name\":\"batch-" + names.incrementAndGet()
+                    + "\"},{\"name\":\"batch-" + names.incrementAndGet() + "\"}],\"update\":[{\"id\":" + id
+                    + ",\"name\":\"batch-" + names.incrementAndGet() + "\"}],\"delete\":[]}");
+            default -> throw new IllegalArgumentException("Unknown route " + route + " in loadtest.mix");
+        };
+    }
+
+    private static HttpRequest get(AppProcess app, String path) {
+        return HttpRequest.newBuilder(app.uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest json(AppProcess app, String path, String method, String body) {
+        return HttpRequest.newBuilder(app.uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String report(String name, Map<String, String> settings, double seconds, Map<String, RouteStats> stats,
+                          Prometheus before, Prometheus after, PoolSampler sampler) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("== %s %s: %d rows, concurrency %d, %.1f s%n", name, settings, rows, concurrency, seconds));
+        report.append(String.format("%-10s %9s %9s %9s %9s %9s %9s  %s%n", "route", "requests", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses"));
+        Histogram total = new Histogram(3);
+        long totalCount = 0;
+        for (Map.Entry<String, RouteStats> route : stats.entrySet()) {
+            Histogram histogram = route.getValue().latency;
+            total.add(histogram);
+            totalCount += histogram.getTotalCount();
+            report.append(row(route.getKey(), histogram, seconds, route.getValue().statuses()));
+        }
+        report.append(row("all", total, seconds, ""));
+
+        double acquired = after.get("hikaricp_connections_acquire_seconds_count") - before.get("hikaricp_connections_acquire_seconds_count");
+        double waited = after.get("hikaricp_connections_acquire_seconds_sum") - before.get("hikaricp_connections_acquire_seconds_sum");
+        report.append(String.format("pool: %.0f acquisitions, mean wait %.3f ms, max wait %.1f ms, pending threads mean %.1f max %.0f%n",
+                acquired, acquired > 0 ? waited / acquired * 1000 : 0, after.max("hikaricp_connections_acquire_seconds_max") * 1000,
+                sampler.meanPending(), sampler.maxPending()));
+        double permits = after.get("db_permits_wait_seconds_count") - before.get("db_permits_wait_seconds_count");
+        if (permits > 0) {
+            double permitWait = after.get("db_permits_wait_seconds_sum") - before.get("db_permits_wait_seconds_sum");
+            report.append(String.format("permits: %.0f acquisitions, mean wait %.3f ms, max wait %.1f ms%n",
+                    permits, permitWait / permits * 1000, after.max("db_permits_wait_seconds_max") * 1000));
+        }
+        double commits = after.get("group_commit_batch_size_count") - before.get("group_commit_batch_size_count");
+        if (commits > 0) {
+            double grouped = after.get("group_commit_batch_size_sum") - before.get("group_commit_batch_size_sum");
+            report.append(String.format("group commit: %.0f commits/s, mean batch %.1f rows%n", commits / seconds, grouped / commits));
+        }
+        if (totalCount == 0) {
+            report.append("no requests completed; see ").append(output.resolve(name + ".log")).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static String row(String route, Histogram histogram, double seconds, String statuses) {
+        return String.format("%-10s %9d %9.0f %9.2f %9.2f %9.2f %9.2f  %s%n", route, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getMaxValue() / 1000.0, statuses);
+    }
+
+    private static Duration duration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        return Duration.parse("PT" + trimmed);
+    }
+
+    private static Map<String, Integer> weights(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    private static Map<String, Map<String, String>> variants(String value) {
+        Map<String, Map<String, String>> variants = new LinkedHashMap<>();
+        for (String variant : value.split(";")) {
+            if (variant.isBlank()) {
+                continue;
+            }
+            int colon = variant.indexOf(':');
+            String name = (colon >= 0 ? variant.substring(0, colon) : variant).trim();
+            Map<String, String> settings = new LinkedHashMap<>();
+            if (colon >= 0) {
+                for (String setting : variant.substring(colon + 1).split(",")) {
+                    int equals = setting.indexOf('=');
+                    if (equals > 0) {
+                        settings.put(setting.substring(0, equals).trim(), setting.substring(equals + 1).trim());
+                    }
+                }
+            }
+            variants.put(name, settings);
+        }
+        return variants;
+    }
+
+    private static final class RouteStats {
+        // Microseconds, up to a minute
+        private final Histogram latency = new ConcurrentHistogram(60_000_000L, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private void record(int status, long micros) {
+            latency.recordValue(Math.min(Math.max(micros, 1), latency.getHighestTrackableValue()));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+
+        private String statuses() {
+            StringBuilder summary = new StringBuilder();
+            statuses.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(status -> summary.append(status.getKey() < 0 ? "io-error" : status.getKey().toString())
+                            .append('=').append(status.getValue().sum()).append(' '));
+            return summary.toString().trim();
+        }
+    }
+
+    // Pending threads are a gauge, so sample them during the run instead of comparing two scrapes
+    private static final class PoolSampler extends Thread {
+        private final AppProcess app;
+        private double pendingSum;
+        private double pendingMax;
+        private int samples;
+
+        private PoolSampler(AppProcess app) {
+            super("pool-sampler");
+            setDaemon(true);
+            this.app = app;
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                try {
+                    double pending = Prometheus.scrape(app).get("hikaricp_connections_pending");
+                    synchronized (this) {
+                        pendingSum += pending;
+                        pendingMax = Math.max(pendingMax, pending);
+                        samples++;
+                    }
+                    Thread.sleep(250);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    // Skip a sample the overloaded application could not answer
+                }
+            }
+        }
+
+        private synchronized double meanPending() {
+            return samples > 0 ? pendingSum / samples : 0;
+        }
+
+        private synchronized double maxPending() {
+            return pendingMax;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.LoadTest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Reads /actuator/prometheus; each value is summed over its label sets (e.g. across pools)
+public final class Prometheus {
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final Map<String, Double> values;
+    private final Map<String, Double> maxima;
+    private final Map<String, Double> series;
+
+    private Prometheus(Map<String, Double> values, Map<String, Double> maxima, Map<String, Double> series) {
+        this.values = values;
+        this.maxima = maxima;
+        this.series = series;
+    }
+
+    public static Prometheus scrape(AppProcess app) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(app.uri("/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Map<String, Double> values = new HashMap<>();
+        Map<String, Double> maxima = new HashMap<>();
+        Map<String, Double> series = new HashMap<>();
+        for (String line : body.split("\n")) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int nameEnd = line.indexOf('{');
+            int valueStart = line.lastIndexOf(' ');
+            if (valueStart < 0) {
+                continue;
+            }
+            String name = line.substring(0, nameEnd >= 0 ? nameEnd : valueStart);
+            double value;
+            try {
+                value = Double.parseDouble(line.substring(valueStart + 1));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            values.merge(name, value, Double::sum);
+            maxima.merge(name, value, Math::max);
+            series.put(line.substring(0, valueStart), value);
+        }
+        return new Prometheus(values, maxima, series);
+    }
+
+    public double get(String name) {
+        return values.getOrDefault(name, 0.0);
+    }
+
+    // Sum over the label sets containing label, e.g. get("jvm_memory_used_bytes", "area=\"heap\"")
+    public double get(String name, String label) {
+        double sum = 0;
+        for (Map.Entry<String, Double> entry : series.entrySet()) {
+            if (entry.getKey().startsWith(name + "{") && entry.getKey().contains(label)) {
+                sum += entry.getValue();
+            }
+        }
+        return sum;
+    }
+
+    // Largest value over the label sets, for gauges like *_max
+    public double max(String name) {
+        return maxima.getOrDefault(name, 0.0);
+    }
+}
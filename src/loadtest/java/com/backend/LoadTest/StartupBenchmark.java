@@ -0,0 +1,96 @@
+package com.backend.LoadTest;
+
+import com.backend.LocalPostgres;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Time from process start to the first 200 from GET /, for one or more ways of starting the application.
+// Each variant gets one discarded warm-up start; the measured starts then alternate between variants so that
+// drift on the machine affects all of them alike.
+//
+// scripts/startup-benchmark.sh compares the regular jar with the fast-startup build (Spring AOT + AppCDS). Directly:
+// mvn -Ploadtest package exec:java@startup-benchmark -DskipTests
+//   -Dloadtest.runs=10                measured starts per variant
+//   -Dloadtest.variants="jar:-jar target/backend-1.0.0.jar;aot:-Dspring.aot.enabled=true -jar target/backend-1.0.0.jar"
+//                                     name:java arguments, separated by ; (default: the packaged jar)
+public final class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("loadtest.runs", 10);
+        String jar = System.getProperty("loadtest.jar");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+        String defaultVariants = jar != null ? "jar:-jar " + jar : null;
+        String variantsProperty = System.getProperty("loadtest.variants", defaultVariants);
+        if (variantsProperty == null) {
+            throw new IllegalStateException("Neither loadtest.variants nor loadtest.jar is set; run through mvn -Ploadtest");
+        }
+        Map<String, List<String>> variants = variants(variantsProperty);
+
+        LocalPostgres postgres = LocalPostgres.shared();
+        postgres.recreateSchema();
+        postgres.seed(1000);
+
+        Map<String, List<Duration>> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            System.out.println("[" + variant.getKey() + "] warm-up start: " + String.join(" ", variant.getValue()));
+            start(postgres, variant.getKey() + "-warmup", variant.getValue(), output);
+            results.put(variant.getKey(), new ArrayList<>());
+        }
+        for (int run = 1; run <= runs; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                Duration elapsed = start(postgres, variant.getKey() + "-" + run, variant.getValue(), output);
+                System.out.println("[" + variant.getKey() + "] run " + run + ": " + format(elapsed) + " s");
+                results.get(variant.getKey()).add(elapsed);
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("== Time to first successful GET /, %d starts per variant (seconds)%n", runs));
+        report.append(String.format("%-12s %8s %8s %8s %8s%n", "variant", "min", "median", "mean", "max"));
+        for (Map.Entry<String, List<Duration>> result : results.entrySet()) {
+            List<Duration> sorted = new ArrayList<>(result.getValue());
+            sorted.sort(null);
+            Duration total = sorted.stream().reduce(Duration.ZERO, Duration::plus);
+            report.append(String.format("%-12s %8s %8s %8s %8s%n", result.getKey(),
+                    format(sorted.get(0)), format(median(sorted)), format(total.dividedBy(sorted.size())),
+                    format(sorted.get(sorted.size() - 1))));
+        }
+        System.out.println();
+        System.out.println(report);
+    }
+
+    private static Duration start(LocalPostgres postgres, String name, List<String> command, Path output) throws Exception {
+        try (AppProcess app = AppProcess.start(name, command, postgres.getDatabaseUrl(), Map.of(), output)) {
+            return app.getTimeToFirstResponse();
+        }
+    }
+
+    private static Duration median(List<Duration> sorted) {
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : sorted.get(middle - 1).plus(sorted.get(middle)).dividedBy(2);
+    }
+
+    private static String format(Duration duration) {
+        return String.format("%.2f", duration.toNanos() / 1e9);
+    }
+
+    private static Map<String, List<String>> variants(String spec) {
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        for (String variant : spec.split(";")) {
+            if (variant.isBlank()) {
+                continue;
+            }
+            int colon = variant.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Variant must be name:java arguments, got " + variant);
+            }
+            variants.put(variant.substring(0, colon).trim(), AppProcess.splitArgs(variant.substring(colon + 1)));
+        }
+        return variants;
+    }
+}
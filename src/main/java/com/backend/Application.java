@@ -8,16 +8,19 @@ public class Application {
     public static void main(String[] args) {
         try {
             SpringApplication.run(Application.class, args);
+        } catch (SpringApplication.AbandonedRunException abandoned) {
+            // Deliberate stop by build-time tooling (e.g. Spring AOT processing), not a startup failure
+            throw abandoned;
         } catch (Exception startupEx) {
             System.err.println("[STARTUP ERROR] Application failed to start: " + startupEx.getMessage());
             startupEx.printStackTrace();
             
-            // Send startup error to endpoint (fire and forget)
+            // Send startup error to endpoint (the Spring context, and with it ErrorReportQueue, never came up)
             String runtimeErrorEndpointUrl = System.getenv("RUNTIME_ERROR_ENDPOINT_URL");
             String boardId = System.getenv("BOARD_ID");
             
             if (runtimeErrorEndpointUrl != null && !runtimeErrorEndpointUrl.isEmpty()) {
-                new Thread(() -> {
+                Thread reporter = new Thread(() -> {
                     try {
                         java.net.http.HttpClient httpClient = java.net.http.HttpClient.newBuilder()
                             .connectTimeout(java.time.Duration.ofSeconds(5))
@@ -51,7 +54,15 @@ public class Application {
                     } catch (Exception e) {
                         // Ignore
                     }
-                }).start();
+                });
+                reporter.start();
+                
+                // Give the report a chance to go out before the JVM exits
+                try {
+                    reporter.join(java.time.Duration.ofSeconds(10).toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
             }
             
             System.exit(1);
@@ -67,10 +78,6 @@ public class Application {
     
     private static String escapeJson(String str) {
         if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+        return com.backend.Exception.ErrorReport.escapeJson(str);
     }
 }
@@ -0,0 +1,95 @@
+package com.backend.Config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+// AIMD concurrency limit: grows by one per healthy request while the limit is in use, shrinks
+// multiplicatively (at most once per target latency) when requests run slow or threads queue for a connection
+// (in a Hikari pool or for a BoundedDataSource permit)
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final double readShare;
+    private final DoubleSupplier poolPending;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejectedReads = new AtomicLong();
+    private final AtomicLong rejectedWrites = new AtomicLong();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency,
+                                      double backoffRatio, double readShare, DoubleSupplier poolPending) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.readShare = readShare;
+        this.poolPending = poolPending;
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    // Reads may only use readShare of the limit, so writes keep headroom when reads saturate it
+    public boolean tryAcquire(boolean write) {
+        double allowed = write ? limit : Math.max(1, limit * readShare);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                (write ? rejectedWrites : rejectedReads).incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        boolean overloaded = latencyNanos > targetLatencyNanos || poolPending.getAsDouble() > 0;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (overloaded) {
+                if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore >= limit / 2) {
+                // Only grow while the current limit is actually being used
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    // Rough time until capacity frees up, for Retry-After
+    public long retryAfterSeconds() {
+        return Math.max(1, Duration.ofNanos(targetLatencyNanos).toSeconds());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("load.shedding.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for /api/test")
+                .register(registry);
+        Gauge.builder("load.shedding.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the limiter")
+                .register(registry);
+        FunctionCounter.builder("load.shedding.rejected", rejectedReads, AtomicLong::get).tag("kind", "read").register(registry);
+        FunctionCounter.builder("load.shedding.rejected", rejectedWrites, AtomicLong::get).tag("kind", "write").register(registry);
+    }
+}
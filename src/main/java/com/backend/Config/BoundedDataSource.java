@@ -0,0 +1,96 @@
+package com.backend.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Caps concurrent JDBC work with a fair semaphore, so thousands of virtual threads (or Tomcat's
+// platform workers, with DB_BOUNDED=true) queue here in FIFO order instead of contending inside the pool
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+
+    public BoundedDataSource(DataSource targetDataSource, int maxConcurrency, long timeoutMillis, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("db.permits.wait")
+                .description("Time spent waiting for a JDBC permit, including timeouts")
+                .register(meterRegistry);
+        Gauge.builder("db.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a JDBC permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                throw new SQLTransientConnectionException("Timed out after " + timeoutMillis + "ms waiting for a JDBC permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC permit", e);
+        }
+    }
+
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
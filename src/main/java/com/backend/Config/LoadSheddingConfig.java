@@ -0,0 +1,67 @@
+package com.backend.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.load-shedding.enabled", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${app.load-shedding.initial-limit:20}") int initialLimit,
+            @Value("${app.load-shedding.min-limit:2}") int minLimit,
+            @Value("${app.load-shedding.max-limit:200}") int maxLimit,
+            @Value("${app.load-shedding.target-latency:250ms}") Duration targetLatency,
+            @Value("${app.load-shedding.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.load-shedding.read-share:0.8}") double readShare,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatency, backoffRatio, readShare,
+                connectionWaiters(meterRegistry));
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(AdaptiveConcurrencyLimiter limiter) {
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(limiter, CorsConfig.corsConfiguration()));
+        registration.addUrlPatterns("/api/test", "/api/test/*");
+        // Shed before any other work is done for the request, but after ServerHttpObservationFilter
+        // (HIGHEST_PRECEDENCE + 1) so that shed 503s are recorded in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    // Threads waiting for a connection across all Hikari pools, plus those waiting for a BoundedDataSource permit
+    // (DB_BOUNDED or virtual threads), which queue there instead; the gauges are looked up once, not per request
+    private DoubleSupplier connectionWaiters(MeterRegistry meterRegistry) {
+        AtomicReference<Collection<Gauge>> gauges = new AtomicReference<>(List.of());
+        return () -> {
+            Collection<Gauge> waiting = gauges.get();
+            if (waiting.isEmpty()) {
+                waiting = new ArrayList<>(meterRegistry.find("hikaricp.connections.pending").gauges());
+                waiting.addAll(meterRegistry.find("db.permits.waiting").gauges());
+                gauges.set(waiting);
+            }
+            double total = 0;
+            for (Gauge gauge : waiting) {
+                total += gauge.value();
+            }
+            return total;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.backend.Config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Rejects /api/test requests beyond the adaptive limit with 503 + Retry-After instead of letting them queue
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    // Long-lived transfers would hold a slot for their whole duration and skew the latency signal
+    private static final Set<String> UNLIMITED_SUFFIXES = Set.of("/stream", "/export", "/import", "/changes");
+
+    // Admitted from the read share of the limit
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CorsConfiguration corsConfiguration;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter, CorsConfiguration corsConfiguration) {
+        this.limiter = limiter;
+        this.corsConfiguration = corsConfiguration;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights do no database work, and shedding one would also block the browser request behind it
+        if (CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return UNLIMITED_SUFFIXES.stream().anyMatch(path::endsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (!limiter.tryAcquire(write)) {
+            // The response never reaches Spring MVC, so apply CORS here; otherwise browsers only see a CORS failure
+            if (!corsProcessor.processRequest(corsConfiguration, request, response)) {
+                return;
+            }
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(limiter.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is overloaded, please retry later\"}");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+}
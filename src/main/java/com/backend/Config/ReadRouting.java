@@ -0,0 +1,35 @@
+package com.backend.Config;
+
+// Per-request read routing, set by ReadYourWritesFilter when read replicas are configured.
+// A request is either pinned to the primary (read-your-writes after a client's own write)
+// or allowed to read from a replica; without replicas neither is set and everything reads the primary.
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void allowReplica() {
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+    }
+
+    // Replica data may lag the in-memory ETag version, so such responses must not carry a validator
+    public static boolean isReplicaAllowed() {
+        return REPLICA_ALLOWED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+        REPLICA_ALLOWED.remove();
+    }
+}
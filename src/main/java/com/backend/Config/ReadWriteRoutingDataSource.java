@@ -0,0 +1,42 @@
+package com.backend.Config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known when the connection is fetched.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final int replicaCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put("replica-" + i, replicas.get(i));
+        }
+        this.replicaCount = replicas.size();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaCount == 0
+                || ReadRouting.isPrimaryForced()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return "replica-" + Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.Config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// After a client writes, its reads go to the primary for a short window so replica lag never hides its own write.
+// The window's end travels with the client, so it holds across instances without shared state: in a cookie,
+// and in the X-Primary-Until header for clients that do not send cookies (e.g. cross-origin), which echo it back.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "db-primary-until";
+    public static final String HEADER_NAME = "X-Primary-Until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (isWrite(request)) {
+            String until = Long.toString(now + window.toMillis());
+            Cookie cookie = new Cookie(COOKIE_NAME, until);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+            response.setHeader(HEADER_NAME, until);
+        } else if (Math.max(stickyUntil(request), parse(request.getHeader(HEADER_NAME))) > now) {
+            ReadRouting.forcePrimary();
+        } else {
+            ReadRouting.allowReplica();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method) || "DELETE".equals(method) || "PATCH".equals(method);
+    }
+
+    private long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return parse(cookie.getValue());
+            }
+        }
+        return 0;
+    }
+
+    private long parse(String until) {
+        if (until == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(until.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -1,119 +1,378 @@
 package com.backend.Controllers;
 
+import com.backend.Config.ReadRouting;
 import com.backend.Models.TestProjects;
+import com.backend.Models.TestProjectsBatchRequest;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import com.backend.Services.QueryTimer;
+import com.backend.Services.TestProjectsBatchService;
+import com.backend.Services.TestProjectsCache;
+import com.backend.Services.TestProjectsChangeFeed;
+import com.backend.Services.TestProjectsCopyService;
+import com.backend.Services.TestProjectsGroupCommit;
+import com.backend.Services.TestProjectsNameIndex;
+import com.backend.Services.TestProjectsPageCoalescer;
+import com.backend.Services.TestProjectsVersions;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
-import org.hibernate.Session;
-import org.hibernate.jdbc.Work;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.Statement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/test")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class TestController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    private static final RowMapper<TestProjectsView> VIEW_ROW_MAPPER =
+            (rs, rowNum) -> new TestProjectsView(rs.getInt(1), rs.getString(2));
+
     @Autowired
     private EntityManager entityManager;
 
-    private void setSearchPath() {
-        // Use Hibernate Session.doWork() to execute on the JDBC connection
-        Session session = entityManager.unwrap(Session.class);
-        session.doWork(new Work() {
-            @Override
-            public void execute(Connection connection) {
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.execute("SET search_path = public, \"$user\"");
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        });
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TestProjectsCache testProjectsCache;
+
+    @Autowired
+    private QueryTimer queryTimer;
+
+    @Autowired
+    private TestProjectsVersions testProjectsVersions;
+
+    @Autowired
+    private TestProjectsPageCoalescer testProjectsPageCoalescer;
+
+    @Autowired
+    private TestProjectsBatchService testProjectsBatchService;
+
+    @Autowired
+    private TestProjectsCopyService testProjectsCopyService;
+
+    @Autowired
+    private TestProjectsNameIndex testProjectsNameIndex;
+
+    @Autowired
+    private TestProjectsChangeFeed testProjectsChangeFeed;
+
+    @Autowired
+    private TestProjectsGroupCommit testProjectsGroupCommit;
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void initReadOnlyTransactionTemplate() {
+        // Reads are plain JDBC, so their transactions skip Hibernate entirely (no session, snapshots or flush).
+        // Read-only transactions are routed to a read replica when DATABASE_READ_URL is set
+        readOnlyTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @GetMapping(value = {"", "/"})
-    @Transactional
-    public ResponseEntity<List<TestProjects>> getAll() {
+    public ResponseEntity<List<TestProjectsView>> getAll(@RequestParam(required = false) Integer after,
+                                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                         WebRequest webRequest) {
         
-            // Set search_path to public schema (required because isolated role has restricted search_path)
-            setSearchPath();
+            // Read the version before the data so a concurrent write can only make the ETag older, never newer
+            String eTag = testProjectsVersions.tableETag();
+            if (notModified(webRequest, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
             
-            Query query = entityManager.createNativeQuery("SELECT \"Id\", \"Name\" FROM \"TestProjects\" ORDER BY \"Id\"", TestProjects.class);
-            @SuppressWarnings("unchecked")
-            List<TestProjects> projects = query.getResultList();
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            int afterId = after != null ? after : 0;
+            // Identical concurrent page requests share one query; only the executing request opens a transaction
+            List<TestProjectsView> projects = testProjectsPageCoalescer.page(afterId, pageSize, () -> findPage(afterId, pageSize));
             int d = 0;
             int f = 3/d;
-            return ResponseEntity.ok(projects);
+            if (projects.size() > pageSize) {
+                projects = projects.subList(0, pageSize);
+                return ok(eTag)
+                        .header("X-Next-Cursor", String.valueOf(projects.get(pageSize - 1).id()))
+                        .body(projects);
+            }
+            return ok(eTag).body(projects);
         
     }
 
+    private List<TestProjectsView> findPage(int after, int pageSize) {
+        // Keyset pagination: fetch one extra row to find out whether another page exists
+        return readOnlyTransactionTemplate.execute(status -> queryTimer.record("list", () -> jdbcTemplate.query(
+                "SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" > ? ORDER BY \"Id\" LIMIT ?",
+                VIEW_ROW_MAPPER, after, pageSize + 1)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        // Rows are written as they are fetched from a server-side cursor, so memory stays flat
+        StreamingResponseBody body = outputStream -> {
+            try (Connection connection = dataSource.getConnection()) {
+                // pgjdbc only honours the fetch size inside a transaction
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT \"Id\", \"Name\" FROM \"TestProjects\" ORDER BY \"Id\"",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(STREAM_FETCH_SIZE);
+                    try (ResultSet rs = stmt.executeQuery();
+                         JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                        // Rows are newline-delimited; suppress Jackson's default space between root values
+                        generator.setRootValueSeparator(null);
+                        int rows = 0;
+                        while (rs.next()) {
+                            generator.writeStartObject();
+                            generator.writeNumberField("id", rs.getInt(1));
+                            generator.writeStringField("name", rs.getString(2));
+                            generator.writeEndObject();
+                            generator.writeRaw('\n');
+                            if (++rows % STREAM_FETCH_SIZE == 0) {
+                                generator.flush();
+                            }
+                        }
+                    }
+                } finally {
+                    connection.rollback();
+                }
+            } catch (SQLException e) {
+                throw new IOException("Failed to stream TestProjects", e);
+            }
+        };
+        // produces only narrows the mapping; streaming bodies need the content type set explicitly
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        // Pushes committed creates, updates and deletes; a "reset" event means the client must reload its state
+        return testProjectsChangeFeed.subscribe(lastEventId);
+    }
+
     @GetMapping("/{id}")
-    @Transactional
-    public ResponseEntity<TestProjects> getById(@PathVariable Integer id) {
+    public ResponseEntity<TestProjectsView> getById(@PathVariable Integer id, WebRequest webRequest) {
         try {
-            // Set search_path to public schema (required because isolated role has restricted search_path)
-            setSearchPath();
+            String eTag = testProjectsVersions.rowETag(id);
+            if (notModified(webRequest, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
             
-            Query query = entityManager.createNativeQuery("SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" = :id", TestProjects.class);
-            query.setParameter("id", id);
-            @SuppressWarnings("unchecked")
-            List<TestProjects> results = query.getResultList();
-            if (results.isEmpty()) {
+            Optional<TestProjectsView> project = testProjectsCache.get(id, this::findById);
+            if (project.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-            return ResponseEntity.ok(results.get(0));
+            return ok(eTag).body(project.get());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // A replica may not have caught up with the version the ETag names, so only primary reads carry one.
+    // If-None-Match is still answered for every read: a client only holds ETags from primary reads.
+    // The body is JSON, CBOR or Smile depending on Accept, so caches must key on it.
+    private ResponseEntity.BodyBuilder ok(String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        return ReadRouting.isReplicaAllowed() ? builder : builder.eTag(eTag);
+    }
+
+    private boolean notModified(WebRequest webRequest, String eTag) {
+        if (!ReadRouting.isReplicaAllowed()) {
+            return webRequest.checkNotModified(eTag);
+        }
+        // checkNotModified would also put the ETag on the full response; compare weakly, as If-None-Match does
+        String[] ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(testProjectsCache.stats());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TestProjectsView>> search(@RequestParam String q,
+                                                         @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!testProjectsNameIndex.isReady()) {
+            // The index is still loading at startup
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        // Served from memory; no connection or transaction is involved
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(testProjectsNameIndex.search(q.strip(), Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT))));
+    }
+
+    private Optional<TestProjectsView> findById(Integer id) {
+        // Only cache misses open a transaction
+        return readOnlyTransactionTemplate.execute(status -> queryTimer.record("find_by_id", () -> jdbcTemplate.query(
+                "SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" = ?",
+                VIEW_ROW_MAPPER, id)).stream().findFirst());
+    }
+
     @PostMapping
-    @Transactional
     public ResponseEntity<TestProjects> create(@RequestBody Map<String, String> request) {
         try {
-            // Set search_path to public schema (required because isolated role has restricted search_path)
-            setSearchPath();
-            
             String name = request.get("name");
+            // With group commit, concurrent creates share one INSERT and one commit
+            TestProjects created = testProjectsGroupCommit.isEnabled() ? testProjectsGroupCommit.create(name) : insert(name);
+            if (created == null) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        } catch (InterruptedException e) {
+            // Interrupted while waiting for the group to commit, e.g. at shutdown
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private TestProjects insert(String name) {
+        // Not @Transactional on create: a group-committed request must not hold a connection while it waits
+        return transactionTemplate.execute(status -> {
             Query query = entityManager.createNativeQuery("INSERT INTO \"TestProjects\" (\"Name\") VALUES (:name) RETURNING \"Id\", \"Name\"", TestProjects.class);
             query.setParameter("name", name);
             @SuppressWarnings("unchecked")
-            List<TestProjects> results = query.getResultList();
+            List<TestProjects> results = queryTimer.record("create", query::getResultList);
             if (results.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                return null;
             }
-            return ResponseEntity.status(HttpStatus.CREATED).body(results.get(0));
+            eventPublisher.publishEvent(TestProjectsChangedEvent.created(results.get(0)));
+            return results.get(0);
+        });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> batch(@RequestBody TestProjectsBatchRequest request) {
+        try {
+            // All creates, updates and deletes run in one transaction; results are reported per item
+            return ResponseEntity.ok(testProjectsBatchService.apply(request));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Map<String, Object>> importCopy(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          @RequestParam(defaultValue = "false") boolean header,
+                                                          InputStream body) {
+        try {
+            // The request body is piped into COPY FROM STDIN without being buffered
+            boolean binary = MediaType.APPLICATION_OCTET_STREAM.includes(MediaType.parseMediaType(contentType));
+            long imported = testProjectsCopyService.importFrom(body, binary, header);
+            return ResponseEntity.ok(Map.of("imported", imported));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCopy(@RequestParam(defaultValue = "csv") String format) {
+        boolean binary = "binary".equalsIgnoreCase(format);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                testProjectsCopyService.exportTo(outputStream, binary);
+            } catch (SQLException e) {
+                throw new IOException("Failed to export TestProjects", e);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(binary ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     @Transactional
     public ResponseEntity<TestProjects> update(@PathVariable Integer id, @RequestBody Map<String, String> request) {
         try {
-            // Set search_path to public schema (required because isolated role has restricted search_path)
-            setSearchPath();
-            
             String name = request.get("name");
             Query query = entityManager.createNativeQuery("UPDATE \"TestProjects\" SET \"Name\" = :name WHERE \"Id\" = :id RETURNING \"Id\", \"Name\"", TestProjects.class);
             query.setParameter("name", name);
             query.setParameter("id", id);
             @SuppressWarnings("unchecked")
-            List<TestProjects> results = query.getResultList();
+            List<TestProjects> results = queryTimer.record("update", query::getResultList);
             if (results.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
+            eventPublisher.publishEvent(TestProjectsChangedEvent.updated(results.get(0)));
             return ResponseEntity.ok(results.get(0));
         } catch (Exception e) {
             e.printStackTrace();
@@ -125,15 +384,13 @@ public class TestController {
     @Transactional
     public ResponseEntity<Map<String, String>> delete(@PathVariable Integer id) {
         try {
-            // Set search_path to public schema (required because isolated role has restricted search_path)
-            setSearchPath();
-            
             Query query = entityManager.createNativeQuery("DELETE FROM \"TestProjects\" WHERE \"Id\" = :id");
             query.setParameter("id", id);
-            int deleted = query.executeUpdate();
+            int deleted = queryTimer.record("delete", query::executeUpdate);
             if (deleted == 0) {
                 return ResponseEntity.notFound().build();
             }
+            eventPublisher.publishEvent(TestProjectsChangedEvent.deleted(id));
             return ResponseEntity.ok(Map.of("message", "Deleted successfully"));
         } catch (Exception e) {
             e.printStackTrace();
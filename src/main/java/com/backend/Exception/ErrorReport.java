@@ -0,0 +1,80 @@
+package com.backend.Exception;
+
+// Snapshot of one unhandled exception, taken on the request thread so the worker never touches the request
+public record ErrorReport(String boardId,
+                          String timestamp,
+                          String file,
+                          Integer line,
+                          String stackTrace,
+                          String message,
+                          String exceptionType,
+                          String requestPath,
+                          String requestMethod,
+                          String userAgent) {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public String toJson(int occurrences) {
+        // Stack traces dominate the payload, so size the builder for them up front
+        StringBuilder json = new StringBuilder(256 + (stackTrace != null ? stackTrace.length() + stackTrace.length() / 8 : 0));
+        json.append("{\"boardId\":");
+        appendString(json, boardId);
+        json.append(",\"timestamp\":");
+        appendString(json, timestamp);
+        json.append(",\"file\":");
+        appendString(json, file);
+        json.append(",\"line\":").append(line);
+        json.append(",\"stackTrace\":");
+        appendString(json, stackTrace != null ? stackTrace : "");
+        json.append(",\"message\":");
+        appendString(json, message != null ? message : "Unknown error");
+        json.append(",\"exceptionType\":");
+        appendString(json, exceptionType);
+        json.append(",\"requestPath\":");
+        appendString(json, requestPath != null ? requestPath : "");
+        json.append(",\"requestMethod\":");
+        appendString(json, requestMethod != null ? requestMethod : "");
+        json.append(",\"userAgent\":");
+        appendString(json, userAgent);
+        json.append(",\"occurrences\":").append(occurrences);
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        escapeJson(json, value);
+        json.append('"');
+    }
+
+    public static String escapeJson(String str) {
+        StringBuilder out = new StringBuilder(str.length() + str.length() / 8);
+        escapeJson(out, str);
+        return out.toString();
+    }
+
+    // Single pass over the input; runs of plain characters are copied in bulk between escapes
+    public static void escapeJson(StringBuilder out, String str) {
+        int plainFrom = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.append(str, plainFrom, i);
+            plainFrom = i + 1;
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            }
+        }
+        out.append(str, plainFrom, str.length());
+    }
+}
@@ -0,0 +1,197 @@
+package com.backend.Exception;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Collects error reports by fingerprint and sends one report per fingerprint per flush interval,
+// so an error storm costs a bounded number of threads and outbound requests
+@Component
+public class ErrorReportQueue implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorReportQueue.class);
+    // A fixed executor instead of the client's default cached pool, which grows with concurrent sends
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newSingleThreadExecutor(daemonThreads("error-report-http")))
+            .build();
+
+    private final int maxPending;
+    private final Map<String, PendingReport> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final ThreadPoolExecutor senders;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    // Reports lost (counted once each), and the error occurrences they stood for
+    private final AtomicLong droppedReports = new AtomicLong();
+    private final AtomicLong droppedOccurrences = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public ErrorReportQueue(@Value("${app.error-reporting.max-pending:256}") int maxPending,
+                            @Value("${app.error-reporting.workers:2}") int workers,
+                            @Value("${app.error-reporting.flush-interval:2s}") Duration flushInterval) {
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(daemonThreads("error-report-flusher"));
+        this.senders = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPending), daemonThreads("error-report-sender"));
+        // All threads exist from the start, so a storm never changes the thread count
+        senders.prestartAllCoreThreads();
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // The report is only built for the first occurrence of a fingerprint within a flush interval
+    public void submit(String endpointUrl, String fingerprint, Supplier<ErrorReport> report) {
+        submitted.incrementAndGet();
+        String key = endpointUrl + "|" + fingerprint;
+        pending.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.occurrences++;
+                deduplicated.incrementAndGet();
+                return existing;
+            }
+            if (pending.size() >= maxPending) {
+                // No slot for a new fingerprint: its report is never built
+                droppedReports.incrementAndGet();
+                droppedOccurrences.incrementAndGet();
+                return null;
+            }
+            return new PendingReport(endpointUrl, report.get());
+        });
+    }
+
+    private void flush() {
+        for (String key : pending.keySet()) {
+            PendingReport report = pending.remove(key);
+            if (report == null) {
+                continue;
+            }
+            try {
+                senders.execute(() -> send(report));
+            } catch (RejectedExecutionException e) {
+                // Senders are backed up; shed the report rather than queue without bound
+                droppedReports.incrementAndGet();
+                droppedOccurrences.addAndGet(report.occurrences);
+            }
+        }
+    }
+
+    private void send(PendingReport report) {
+        try {
+            HttpRequest httpRequest = HttpRequest.newBuilder()
+                    .uri(URI.create(report.endpointUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(report.report.toJson(report.occurrences)))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+
+            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            sent.incrementAndGet();
+            logger.warn("[EXCEPTION HANDLER] Error endpoint response: {} - {}", response.statusCode(), response.body());
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("[EXCEPTION HANDLER] Failed to send error to endpoint: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("error.reports.pending", pending, Map::size)
+                .description("Distinct error fingerprints waiting for the next flush")
+                .register(registry);
+        Gauge.builder("error.reports.queued", senders, executor -> executor.getQueue().size())
+                .description("Flushed reports waiting for a sender thread")
+                .register(registry);
+        FunctionCounter.builder("error.reports", submitted, AtomicLong::get).tag("outcome", "submitted").register(registry);
+        FunctionCounter.builder("error.reports", deduplicated, AtomicLong::get).tag("outcome", "deduplicated").register(registry);
+        FunctionCounter.builder("error.reports", droppedReports, AtomicLong::get).tag("outcome", "dropped").register(registry);
+        FunctionCounter.builder("error.occurrences.dropped", droppedOccurrences, AtomicLong::get)
+                .description("Error occurrences covered by dropped reports")
+                .register(registry);
+        FunctionCounter.builder("error.reports", sent, AtomicLong::get).tag("outcome", "sent").register(registry);
+        FunctionCounter.builder("error.reports", failed, AtomicLong::get).tag("outcome", "failed").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flush();
+        senders.shutdown();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getDeduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedReports.get();
+    }
+
+    public long getDroppedOccurrences() {
+        return droppedOccurrences.get();
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class PendingReport {
+        private final String endpointUrl;
+        private final ErrorReport report;
+        // Only mutated inside ConcurrentHashMap.compute for this key
+        private int occurrences = 1;
+
+        private PendingReport(String endpointUrl, ErrorReport report) {
+            this.endpointUrl = endpointUrl;
+            this.report = report;
+        }
+    }
+}
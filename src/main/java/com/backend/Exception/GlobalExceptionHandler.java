@@ -3,30 +3,35 @@ package com.backend.Exception;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
 @ControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
-    private static final HttpClient httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .build();
+    private static final Pattern BOARD_ID_PATTERN = Pattern.compile("webapi([a-f0-9]{24})", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private ErrorReportQueue errorReportQueue;
+
+    // Process environment first, so tests can point RUNTIME_ERROR_ENDPOINT_URL at a stub through a property
+    @Autowired
+    private Environment environment;
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request, HttpServletRequest httpRequest) {
@@ -36,8 +41,8 @@ public class GlobalExceptionHandler {
         String boardId = extractBoardId(httpRequest);
         logger.warn("[EXCEPTION HANDLER] Extracted boardId: {}", boardId != null ? boardId : "NULL");
 
-        // Send error to runtime error endpoint (fire and forget)
-        String runtimeErrorEndpointUrl = System.getenv("RUNTIME_ERROR_ENDPOINT_URL");
+        // Queue error for the runtime error endpoint (sent in batches by ErrorReportQueue)
+        String runtimeErrorEndpointUrl = environment.getProperty("RUNTIME_ERROR_ENDPOINT_URL");
         if (runtimeErrorEndpointUrl != null && !runtimeErrorEndpointUrl.isEmpty()) {
             logger.warn("[EXCEPTION HANDLER] Sending error to endpoint: {}", runtimeErrorEndpointUrl);
             sendErrorToEndpoint(runtimeErrorEndpointUrl, boardId, httpRequest, ex);
@@ -53,40 +58,43 @@ public class GlobalExceptionHandler {
                 ));
     }
 
-    private String extractBoardId(HttpServletRequest request) {
+    // Package-private for the JMH benchmark
+    String extractBoardId(HttpServletRequest request) {
+        return extractBoardId(request.getParameter("boardId"), request.getHeader("X-Board-Id"), request.getServerName(), environment);
+    }
+
+    // Shared with ReactiveErrorReportingHandler
+    static String extractBoardId(String parameter, String header, String host, Environment environment) {
         // Try route parameter
-        String boardId = request.getParameter("boardId");
+        String boardId = parameter;
         if (boardId != null && !boardId.isEmpty()) {
             return boardId;
         }
 
         // Try header
-        boardId = request.getHeader("X-Board-Id");
+        boardId = header;
         if (boardId != null && !boardId.isEmpty()) {
             return boardId;
         }
 
         // Try environment variable
-        boardId = System.getenv("BOARD_ID");
+        boardId = environment.getProperty("BOARD_ID");
         if (boardId != null && !boardId.isEmpty()) {
             return boardId;
         }
 
         // Try to extract from hostname (Railway pattern: webapi{boardId}.up.railway.app - no hyphen)
-        String host = request.getServerName();
         if (host != null) {
-            Pattern pattern = Pattern.compile("webapi([a-f0-9]{24})", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(host);
+            Matcher matcher = BOARD_ID_PATTERN.matcher(host);
             if (matcher.find()) {
                 return matcher.group(1);
             }
         }
 
         // Try to extract from RUNTIME_ERROR_ENDPOINT_URL if it contains boardId pattern
-        String endpointUrl = System.getenv("RUNTIME_ERROR_ENDPOINT_URL");
+        String endpointUrl = environment.getProperty("RUNTIME_ERROR_ENDPOINT_URL");
         if (endpointUrl != null && !endpointUrl.isEmpty()) {
-            Pattern pattern = Pattern.compile("webapi([a-f0-9]{24})", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(endpointUrl);
+            Matcher matcher = BOARD_ID_PATTERN.matcher(endpointUrl);
             if (matcher.find()) {
                 return matcher.group(1);
             }
@@ -96,60 +104,37 @@ public class GlobalExceptionHandler {
     }
 
     private void sendErrorToEndpoint(String endpointUrl, String boardId, HttpServletRequest request, Exception exception) {
-        // Run in background thread to avoid blocking the response
-        new Thread(() -> {
-            try {
-                String stackTrace = getStackTrace(exception);
-                String file = exception.getStackTrace().length > 0 ? exception.getStackTrace()[0].getFileName() : null;
-                Integer line = exception.getStackTrace().length > 0 ? exception.getStackTrace()[0].getLineNumber() : null;
-
-                String requestPath = request.getRequestURI();
-                String requestMethod = request.getMethod();
-                String userAgent = request.getHeader("User-Agent");
-
-                // Build JSON payload
-                String jsonPayload = String.format(
-                        "{\"boardId\":%s,\"timestamp\":\"%s\",\"file\":%s,\"line\":%s,\"stackTrace\":%s,\"message\":%s,\"exceptionType\":%s,\"requestPath\":%s,\"requestMethod\":%s,\"userAgent\":%s}",
-                        boardId != null ? "\"" + boardId + "\"" : "null",
-                        Instant.now().toString(),
-                        file != null ? "\"" + escapeJson(file) + "\"" : "null",
-                        line != null ? line.toString() : "null",
-                        "\"" + escapeJson(stackTrace) + "\"",
-                        "\"" + escapeJson(exception.getMessage() != null ? exception.getMessage() : "Unknown error") + "\"",
-                        "\"" + exception.getClass().getName() + "\"",
-                        "\"" + escapeJson(requestPath) + "\"",
-                        "\"" + escapeJson(requestMethod) + "\"",
-                        userAgent != null ? "\"" + escapeJson(userAgent) + "\"" : "null"
-                );
-
-                HttpRequest httpRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(endpointUrl))
-                        .header("Content-Type", "application/json")
-                        .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
-                        .timeout(Duration.ofSeconds(5))
-                        .build();
-
-                HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-                logger.warn("[EXCEPTION HANDLER] Error endpoint response: {} - {}", response.statusCode(), response.body());
-            } catch (Exception e) {
-                logger.error("[EXCEPTION HANDLER] Failed to send error to endpoint: {}", e.getMessage(), e);
-            }
-        }).start();
+        StackTraceElement[] frames = exception.getStackTrace();
+        String file = frames.length > 0 ? frames[0].getFileName() : null;
+        Integer line = frames.length > 0 ? frames[0].getLineNumber() : null;
+
+        String requestPath = request.getRequestURI();
+        String requestMethod = request.getMethod();
+        String userAgent = request.getHeader("User-Agent");
+
+        // Repeats of the same failure at the same place collapse into one report with a count.
+        // The route pattern (/api/test/{id}) rather than the URI, so every id does not get its own report
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String fingerprint = exception.getClass().getName() + "@" + (frames.length > 0 ? frames[0] : "") + " " + requestMethod + " "
+                + (route != null ? route : requestPath);
+        errorReportQueue.submit(endpointUrl, fingerprint, () -> new ErrorReport(
+                boardId,
+                Instant.now().toString(),
+                file,
+                line,
+                getStackTrace(exception),
+                exception.getMessage(),
+                exception.getClass().getName(),
+                requestPath,
+                requestMethod,
+                userAgent
+        ));
     }
 
-    private String getStackTrace(Exception exception) {
+    static String getStackTrace(Throwable exception) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
         exception.printStackTrace(pw);
         return sw.toString();
     }
-
-    private String escapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
-    }
 }
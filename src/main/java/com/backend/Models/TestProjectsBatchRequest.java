@@ -0,0 +1,9 @@
+package com.backend.Models;
+
+import java.util.List;
+import java.util.Map;
+
+public record TestProjectsBatchRequest(List<Map<String, String>> create,
+                                       List<TestProjects> update,
+                                       List<Integer> delete) {
+}
@@ -0,0 +1,37 @@
+package com.backend.Models;
+
+// Published by writers inside their transaction; listeners react once it commits
+public record TestProjectsChangedEvent(Type type, Integer id, String name) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Bulk load that bypassed per-row events (e.g. COPY); id and name are null
+        RELOADED
+    }
+
+    public static TestProjectsChangedEvent created(TestProjects project) {
+        return new TestProjectsChangedEvent(Type.CREATED, project.getId(), project.getName());
+    }
+
+    public static TestProjectsChangedEvent created(TestProjectsView project) {
+        return new TestProjectsChangedEvent(Type.CREATED, project.id(), project.name());
+    }
+
+    public static TestProjectsChangedEvent updated(TestProjects project) {
+        return new TestProjectsChangedEvent(Type.UPDATED, project.getId(), project.getName());
+    }
+
+    public static TestProjectsChangedEvent updated(TestProjectsView project) {
+        return new TestProjectsChangedEvent(Type.UPDATED, project.id(), project.name());
+    }
+
+    public static TestProjectsChangedEvent deleted(Integer id) {
+        return new TestProjectsChangedEvent(Type.DELETED, id, null);
+    }
+
+    public static TestProjectsChangedEvent reloaded() {
+        return new TestProjectsChangedEvent(Type.RELOADED, null, null);
+    }
+}
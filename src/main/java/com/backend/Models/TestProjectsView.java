@@ -0,0 +1,5 @@
+package com.backend.Models;
+
+// Immutable read model for TestProjects; serializes to the same JSON as the entity
+public record TestProjectsView(Integer id, String name) {
+}
@@ -0,0 +1,29 @@
+package com.backend.Services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Records the duration of each named database query as the db.query timer
+@Component
+public class QueryTimer {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String query, Supplier<T> work) {
+        return timers.computeIfAbsent(query, name -> Timer.builder("db.query")
+                        .description("Time spent executing TestProjects queries")
+                        .tag("query", name)
+                        .register(meterRegistry))
+                .record(work);
+    }
+}
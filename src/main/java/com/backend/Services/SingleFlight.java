@@ -0,0 +1,60 @@
+package com.backend.Services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Concurrent calls for the same key share one execution of the loader and its result
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            merged.incrementAndGet();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        executed.incrementAndGet();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    // Callers arriving after this start a new execution instead of joining one that may predate a write
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public long getExecutedCount() {
+        return executed.get();
+    }
+
+    public long getMergedCount() {
+        return merged.get();
+    }
+}
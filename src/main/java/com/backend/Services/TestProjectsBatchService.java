@@ -0,0 +1,163 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjects;
+import com.backend.Models.TestProjectsBatchRequest;
+import com.backend.Models.TestProjectsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Profile("!reactive")
+public class TestProjectsBatchService {
+
+    // Each statement binds whole arrays, so the SQL text (and its prepared plan) is the same for every chunk
+    private static final int CHUNK_SIZE = 10000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO \"TestProjects\" (\"Name\") " +
+            "SELECT t.name FROM unnest(?::text[]) WITH ORDINALITY AS t(name, ord) ORDER BY t.ord " +
+            "RETURNING \"Id\", \"Name\"";
+    private static final String UPDATE_SQL =
+            "UPDATE \"TestProjects\" AS p SET \"Name\" = u.name " +
+            "FROM unnest(?::int[], ?::text[]) AS u(id, name) WHERE p.\"Id\" = u.id " +
+            "RETURNING p.\"Id\", p.\"Name\"";
+    private static final String DELETE_SQL =
+            "DELETE FROM \"TestProjects\" WHERE \"Id\" = ANY(?::int[]) RETURNING \"Id\"";
+
+    private static final RowMapper<TestProjects> ROW_MAPPER = (rs, rowNum) -> {
+        TestProjects project = new TestProjects();
+        project.setId(rs.getInt(1));
+        project.setName(rs.getString(2));
+        return project;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QueryTimer queryTimer;
+
+    @Transactional
+    public Map<String, Object> apply(TestProjectsBatchRequest request) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("created", createAll(request.create() != null ? request.create() : List.of()));
+        response.put("updated", updateAll(request.update() != null ? request.update() : List.of()));
+        response.put("deleted", deleteAll(request.delete() != null ? request.delete() : List.of()));
+        return response;
+    }
+
+    private List<Map<String, Object>> createAll(List<Map<String, String>> items) {
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        List<String> names = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (Map<String, String> item : items) {
+            String name = item != null ? item.get("name") : null;
+            if (name == null) {
+                results.add(result(null, 400, null));
+            } else {
+                positions.add(results.size());
+                names.add(name);
+                results.add(null);
+            }
+        }
+
+        List<TestProjects> created = insert(names);
+        for (int i = 0; i < created.size(); i++) {
+            TestProjects project = created.get(i);
+            eventPublisher.publishEvent(TestProjectsChangedEvent.created(project));
+            results.set(positions.get(i), result(project.getId(), 201, project));
+        }
+        return results;
+    }
+
+    // Rows come back in the order of names; callers must already be inside a transaction
+    public List<TestProjects> insert(List<String> names) {
+        List<TestProjects> created = new ArrayList<>(names.size());
+        for (int from = 0; from < names.size(); from += CHUNK_SIZE) {
+            Object[] chunk = names.subList(from, Math.min(from + CHUNK_SIZE, names.size())).toArray();
+            created.addAll(queryTimer.record("batch_insert", () -> jdbcTemplate.query(INSERT_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", chunk)),
+                    ROW_MAPPER)));
+        }
+        return created;
+    }
+
+    private List<Map<String, Object>> updateAll(List<TestProjects> items) {
+        List<TestProjects> valid = items.stream()
+                .filter(item -> item != null && item.getId() != null && item.getName() != null)
+                .toList();
+
+        Map<Integer, TestProjects> updated = new HashMap<>();
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            List<TestProjects> chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size()));
+            Object[] ids = chunk.stream().map(TestProjects::getId).toArray();
+            Object[] names = chunk.stream().map(TestProjects::getName).toArray();
+            queryTimer.record("batch_update", () -> jdbcTemplate.query(UPDATE_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("integer", ids));
+                ps.setArray(2, ps.getConnection().createArrayOf("text", names));
+            }, ROW_MAPPER)).forEach(project -> updated.put(project.getId(), project));
+        }
+        updated.values().forEach(project -> eventPublisher.publishEvent(TestProjectsChangedEvent.updated(project)));
+
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        for (TestProjects item : items) {
+            if (item == null || item.getId() == null || item.getName() == null) {
+                results.add(result(item != null ? item.getId() : null, 400, null));
+            } else if (updated.containsKey(item.getId())) {
+                results.add(result(item.getId(), 200, updated.get(item.getId())));
+            } else {
+                results.add(result(item.getId(), 404, null));
+            }
+        }
+        return results;
+    }
+
+    private List<Map<String, Object>> deleteAll(List<Integer> ids) {
+        List<Integer> valid = ids.stream().filter(id -> id != null).toList();
+
+        Set<Integer> deleted = new HashSet<>();
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            Object[] chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size())).toArray();
+            deleted.addAll(queryTimer.record("batch_delete", () -> jdbcTemplate.query(DELETE_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", chunk)),
+                    (rs, rowNum) -> rs.getInt(1))));
+        }
+        deleted.forEach(id -> eventPublisher.publishEvent(TestProjectsChangedEvent.deleted(id)));
+
+        List<Map<String, Object>> results = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            if (id == null) {
+                results.add(result(null, 400, null));
+            } else {
+                results.add(result(id, deleted.contains(id) ? 200 : 404, null));
+            }
+        }
+        return results;
+    }
+
+    private Map<String, Object> result(Integer id, int status, TestProjects item) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("status", status);
+        if (item != null) {
+            result.put("item", item);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.Services;
+
+import com.backend.Config.ReadRouting;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class TestProjectsCache implements MeterBinder {
+
+    // Optional.empty() entries are cached 404s
+    private final Cache<Integer, Optional<TestProjectsView>> cache;
+    private final SingleFlight<Integer, Optional<TestProjectsView>> loads = new SingleFlight<>();
+
+    public TestProjectsCache(@Value("${app.cache.test-projects.maximum-size:10000}") long maximumSize,
+                             @Value("${app.cache.test-projects.ttl:60s}") Duration ttl,
+                             @Value("${app.cache.test-projects.negative-ttl:5s}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Integer, Optional<TestProjectsView>>() {
+                    @Override
+                    public long expireAfterCreate(Integer id, Optional<TestProjectsView> value, long currentTime) {
+                        return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer id, Optional<TestProjectsView> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer id, Optional<TestProjectsView> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Optional<TestProjectsView> get(Integer id, Function<Integer, Optional<TestProjectsView>> loader) {
+        if (ReadRouting.isPrimaryForced()) {
+            // Read-your-writes: this client's write may have been made on another instance, so neither a cached
+            // value nor a load shared with replica readers may answer; only fill the cache if it has no entry
+            Optional<TestProjectsView> loaded = loader.apply(id);
+            cache.asMap().putIfAbsent(id, loaded);
+            return loaded;
+        }
+        Optional<TestProjectsView> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        // Concurrent misses for the same id share one query; putIfAbsent keeps a value a write stored meanwhile
+        return loads.execute(id, () -> {
+            Optional<TestProjectsView> loaded = loader.apply(id);
+            Optional<TestProjectsView> current = cache.asMap().putIfAbsent(id, loaded);
+            return current != null ? current : loaded;
+        });
+    }
+
+    // For the reactive stack: a miss is loaded without blocking, and is not shared with concurrent misses
+    // For the reactive stack, which loads asynchronously: null if not cached
+    public Optional<TestProjectsView> getIfPresent(Integer id) {
+        return cache.getIfPresent(id);
+    }
+
+    // Returns what is cached afterwards; an entry written by a concurrent change wins over the load
+    public Optional<TestProjectsView> putIfAbsent(Integer id, Optional<TestProjectsView> loaded) {
+        Optional<TestProjectsView> current = cache.asMap().putIfAbsent(id, loaded);
+        return current != null ? current : loaded;
+    }
+
+    // Applied before TestProjectsVersions moves the ETag version
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChange(TestProjectsChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> cache.put(event.id(), Optional.of(new TestProjectsView(event.id(), event.name())));
+            case DELETED -> cache.put(event.id(), Optional.empty());
+            case RELOADED -> cache.invalidateAll();
+        }
+        // Readers arriving from now on must not join a load that started before this write
+        if (event.type() == TestProjectsChangedEvent.Type.RELOADED) {
+            loads.forgetAll();
+        } else {
+            loads.forget(event.id());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "testProjects");
+        FunctionCounter.builder("coalesced.requests", loads, SingleFlight::getExecutedCount)
+                .tag("route", "by_id").tag("outcome", "executed").register(registry);
+        FunctionCounter.builder("coalesced.requests", loads, SingleFlight::getMergedCount)
+                .tag("route", "by_id").tag("outcome", "merged").register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        return Map.of(
+            "size", cache.estimatedSize(),
+            "hits", stats.hitCount(),
+            "misses", stats.missCount(),
+            "evictions", stats.evictionCount(),
+            "hitRate", stats.hitRate(),
+            "coalesced", loads.getMergedCount()
+        );
+    }
+}
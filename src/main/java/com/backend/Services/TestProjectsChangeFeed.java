@@ -0,0 +1,483 @@
+package com.backend.Services;
+
+import com.backend.Config.DatabaseUrl;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Change feed behind GET /api/test/changes, for both the servlet and the reactive stack (ReactiveTestProjectsChangeFeed).
+// One dedicated connection (outside the connection pool) LISTENs for TestProjectsChangeNotifier's notifications.
+// Each subscriber has its own bounded queue (drained by a small shared sender pool on the servlet stack),
+// so a slow client never blocks the listener or other clients. Event ids are <epoch>-<sequence>; recent
+// events are kept in a ring buffer so a reconnecting client can resume from Last-Event-ID.
+@Component
+public class TestProjectsChangeFeed implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestProjectsChangeFeed.class);
+    private static final long POLL_TIMEOUT_MILLIS = 10_000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    @Autowired
+    private TestProjectsChangeNotifier notifier;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private final int replaySize;
+    private final int maxQueuedPerSubscriber;
+    private final Duration subscriberTimeout;
+    private final Duration heartbeatInterval;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    // Guarded by itself; appends and subscriber replay must not interleave
+    private final ArrayDeque<Event> recent = new ArrayDeque<>();
+    private String epoch = newEpoch();
+    private long sequence;
+
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile Thread listenerThread;
+    private volatile Connection listenerConnection;
+
+    public TestProjectsChangeFeed(@Value("${app.change-feed.replay-size:1000}") int replaySize,
+                                  @Value("${app.change-feed.max-queued-per-subscriber:1000}") int maxQueuedPerSubscriber,
+                                  @Value("${app.change-feed.subscriber-timeout:30m}") Duration subscriberTimeout,
+                                  @Value("${app.change-feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                  @Value("${app.change-feed.senders:2}") int senders) {
+        this.replaySize = replaySize;
+        this.maxQueuedPerSubscriber = maxQueuedPerSubscriber;
+        this.subscriberTimeout = subscriberTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.senders = Executors.newFixedThreadPool(senders, daemonThreads("change-feed-sender"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("change-feed-heartbeat"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::listen, "change-feed-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+        long interval = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        heartbeats.shutdownNow();
+        Connection connection = listenerConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        subscribers.forEach(Subscriber::complete);
+        senders.shutdown();
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        EmitterSubscriber subscriber = new EmitterSubscriber(new SseEmitter(subscriberTimeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        register(subscriber, lastEventId);
+        return subscriber.emitter;
+    }
+
+    void register(Subscriber subscriber, String lastEventId) {
+        // Commits the response headers right away instead of at the first change
+        subscriber.offer(Frame.comment("connected"));
+        synchronized (recent) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Long resumeFrom = resumePoint(lastEventId);
+                if (resumeFrom == null) {
+                    // Unknown epoch or too far behind: the client has to reload its state
+                    subscriber.offer(reset());
+                } else {
+                    recent.stream().filter(event -> event.sequence > resumeFrom).forEach(event -> subscriber.offer(event.frame));
+                }
+            }
+            subscribers.add(subscriber);
+        }
+    }
+
+    void unregister(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    // For a subscriber that fell too far behind; true if it was still subscribed
+    boolean drop(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        dropped.incrementAndGet();
+        return true;
+    }
+
+    int getMaxQueuedPerSubscriber() {
+        return maxQueuedPerSubscriber;
+    }
+
+    Duration getSubscriberTimeout() {
+        return subscriberTimeout;
+    }
+
+    private Long resumePoint(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return null;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence;
+        // Anything after lastSequence must still be buffered
+        return lastSequence >= oldest - 1 && lastSequence <= sequence ? lastSequence : null;
+    }
+
+    private void listen() {
+        DatabaseUrl databaseUrl = DatabaseUrl.fromEnvironment(environment, "DATABASE_URL");
+        Properties properties = new Properties();
+        properties.setProperty("user", databaseUrl.getUsername());
+        properties.setProperty("password", databaseUrl.getPassword());
+        properties.setProperty("ApplicationName", "backend-change-feed");
+
+        boolean connectedBefore = false;
+        long reconnectDelay = 1000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(databaseUrl.toJdbcUrl(), properties)) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    // Isolated role has a restricted search_path
+                    statement.execute("SET search_path = public, \"$user\"");
+                    statement.execute("LISTEN " + TestProjectsChangeNotifier.CHANNEL);
+                }
+                if (connectedBefore) {
+                    // Notifications sent while disconnected are lost; start over for everyone
+                    restart();
+                }
+                connectedBefore = true;
+                reconnectDelay = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT_MILLIS);
+                    if (notifications == null || notifications.length == 0) {
+                        // Idle: make sure the connection is still alive
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(connection, notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Change feed connection lost, reconnecting in {} ms: {}", reconnectDelay, e.getMessage());
+            } finally {
+                listenerConnection = null;
+            }
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+            reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MILLIS);
+        }
+    }
+
+    private void handle(Connection connection, String payload) throws SQLException {
+        TestProjectsChangedEvent event;
+        boolean remote;
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            TestProjectsChangedEvent.Type type = TestProjectsChangedEvent.Type.valueOf(node.get("type").asText());
+            Integer id = node.hasNonNull("id") ? node.get("id").asInt() : null;
+            String name = node.hasNonNull("name") ? node.get("name").asText() : null;
+            if (name == null && (type == TestProjectsChangedEvent.Type.CREATED || type == TestProjectsChangedEvent.Type.UPDATED)) {
+                // Name was too large for the payload
+                name = currentName(connection, id);
+            }
+            event = new TestProjectsChangedEvent(type, id, name);
+            remote = !notifier.getOrigin().equals(node.path("origin").asText());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring malformed change notification: {}", payload);
+            return;
+        }
+
+        if (remote) {
+            // Another instance wrote this; bring the local cache, ETags and search index up to date
+            notifier.replay(() -> eventPublisher.publishEvent(event));
+        }
+        broadcast(event);
+    }
+
+    private String currentName(Connection connection, Integer id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT \"Name\" FROM \"TestProjects\" WHERE \"Id\" = ?")) {
+            statement.setInt(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private void broadcast(TestProjectsChangedEvent change) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", change.id());
+        data.put("name", change.name());
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (IOException e) {
+            logger.warn("Failed to serialize change event: {}", e.getMessage());
+            return;
+        }
+        synchronized (recent) {
+            long next = ++sequence;
+            Event event = new Event(next, new Frame(epoch + "-" + next, change.type().name().toLowerCase(Locale.ROOT), json, null));
+            recent.addLast(event);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event.frame));
+        }
+    }
+
+    private void restart() {
+        synchronized (recent) {
+            epoch = newEpoch();
+            sequence = 0;
+            recent.clear();
+            Frame reset = reset();
+            subscribers.forEach(subscriber -> subscriber.offer(reset));
+        }
+        // Changes from other instances may have been missed as well
+        notifier.replay(() -> eventPublisher.publishEvent(TestProjectsChangedEvent.reloaded()));
+    }
+
+    private void heartbeat() {
+        Frame frame = Frame.comment("");
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private Frame reset() {
+        return new Frame(null, "reset", "{}", null);
+    }
+
+    private static String newEpoch() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("change.feed.subscribers", subscribers, Set::size).register(registry);
+        FunctionCounter.builder("change.feed.dropped", dropped, AtomicLong::get)
+                .description("Subscribers disconnected for falling too far behind")
+                .register(registry);
+    }
+
+    private record Event(long sequence, Frame frame) {
+    }
+
+    // One server-sent event, converted for each stack at most once however many clients receive it
+    static final class Frame {
+        private final String id;
+        private final String name;
+        private final String data;
+        private final String comment;
+        private volatile Set<DataWithMediaType> servlet;
+        private volatile Object reactive;
+
+        private Frame(String id, String name, String data, String comment) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+            this.comment = comment;
+        }
+
+        static Frame comment(String comment) {
+            return new Frame(null, null, null, comment);
+        }
+
+        Set<DataWithMediaType> servlet() {
+            Set<DataWithMediaType> converted = servlet;
+            if (converted == null) {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event();
+                if (comment != null) {
+                    builder.comment(comment);
+                }
+                if (id != null) {
+                    builder.id(id);
+                }
+                if (name != null) {
+                    builder.name(name);
+                }
+                if (data != null) {
+                    builder.data(data, MediaType.APPLICATION_JSON);
+                }
+                servlet = converted = builder.build();
+            }
+            return converted;
+        }
+
+        // The reactive stack's event type is not on the servlet build's class path, so it brings its own conversion
+        @SuppressWarnings("unchecked")
+        <T> T reactive(Function<Frame, T> convert) {
+            Object converted = reactive;
+            if (converted == null) {
+                reactive = converted = convert.apply(this);
+            }
+            return (T) converted;
+        }
+
+        String id() {
+            return id;
+        }
+
+        String name() {
+            return name;
+        }
+
+        String data() {
+            return data;
+        }
+
+        String comment() {
+            return comment;
+        }
+    }
+
+    interface Subscriber {
+        void offer(Frame frame);
+
+        void complete();
+    }
+
+    private final class EmitterSubscriber implements Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        EmitterSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void offer(Frame frame) {
+            if (queued.incrementAndGet() > maxQueuedPerSubscriber) {
+                // Too slow to keep up; it can reconnect and resume from its Last-Event-ID
+                if (drop(this)) {
+                    emitter.complete();
+                }
+                return;
+            }
+            queue.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while ((frame = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    emitter.send(frame.servlet());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                subscribers.remove(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sends every TestProjects change to PostgreSQL NOTIFY inside the writing transaction,
+// so listeners (this and other instances) only ever see committed changes, in commit order.
+// Reactive writes have no JdbcTemplate; ReactiveTestProjectsWrites sends their payloads from its own transaction.
+@Component
+public class TestProjectsChangeNotifier {
+
+    public static final String CHANNEL = "test_projects_changes";
+    // NOTIFY payloads must stay below 8000 bytes; longer names are left out and looked up by the listener
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    // Lets the feed recognise this instance's own notifications
+    private final String origin = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    // Set while the feed republishes another instance's change locally; it has already been notified
+    private final ThreadLocal<Boolean> replaying = new ThreadLocal<>();
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void replay(Runnable publish) {
+        replaying.set(Boolean.TRUE);
+        try {
+            publish.run();
+        } finally {
+            replaying.remove();
+        }
+    }
+
+    @EventListener
+    public void onChange(TestProjectsChangedEvent event) {
+        if (replaying.get() != null || jdbcTemplate == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Writes outside a transaction (e.g. COPY) have already committed
+            send(List.of(payload(event, 0)));
+            return;
+        }
+        // One round trip per transaction, sent just before it commits
+        @SuppressWarnings("unchecked")
+        List<String> pending = (List<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<String> payloads = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, payloads);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(payloads);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TestProjectsChangeNotifier.this);
+                }
+            });
+            pending = payloads;
+        }
+        pending.add(payload(event, pending.size()));
+    }
+
+    private void send(List<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, payload) FROM unnest(?::text[]) WITH ORDINALITY AS p(payload, position) ORDER BY position",
+                ps -> {
+                    ps.setString(1, CHANNEL);
+                    ps.setArray(2, ps.getConnection().createArrayOf("text", payloads.toArray()));
+                },
+                rs -> null);
+    }
+
+    // The position keeps payloads distinct: PostgreSQL folds identical notifications within a transaction
+    String payload(TestProjectsChangedEvent event, int position) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("origin", origin);
+        payload.put("position", position);
+        payload.put("type", event.type());
+        payload.put("id", event.id());
+        payload.put("name", event.name());
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            if (json.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                return json;
+            }
+            payload.put("name", null);
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change notification", e);
+        }
+    }
+}
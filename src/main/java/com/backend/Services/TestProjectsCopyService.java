@@ -0,0 +1,60 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Service
+@Profile("!reactive")
+public class TestProjectsCopyService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    static final String EXPORT_QUERY = "SELECT \"Id\", \"Name\" FROM \"TestProjects\" ORDER BY \"Id\"";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Ids are generated by the table, so imports only carry the Name column
+    static String importSql(boolean binary, boolean header) {
+        String options = binary ? "FORMAT binary" : "FORMAT csv, HEADER " + header;
+        return "COPY \"TestProjects\" (\"Name\") FROM STDIN WITH (" + options + ")";
+    }
+
+    static String exportSql(boolean binary) {
+        String options = binary ? "FORMAT binary" : "FORMAT csv, HEADER true";
+        return "COPY (" + EXPORT_QUERY + ") TO STDOUT WITH (" + options + ")";
+    }
+
+    public long importFrom(InputStream inputStream, boolean binary, boolean header) throws SQLException, IOException {
+        long rows;
+        try (Connection connection = dataSource.getConnection()) {
+            rows = copyManager(connection).copyIn(importSql(binary, header), inputStream, COPY_BUFFER_SIZE);
+        }
+        eventPublisher.publishEvent(TestProjectsChangedEvent.reloaded());
+        return rows;
+    }
+
+    public long exportTo(OutputStream outputStream, boolean binary) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            return copyManager(connection).copyOut(exportSql(binary), outputStream);
+        }
+    }
+
+    private CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+}
@@ -0,0 +1,205 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjects;
+import com.backend.Models.TestProjectsChangedEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Optional group commit for POST /api/test (app.group-commit.enabled).
+// Concurrent creates are queued and a single collector thread inserts them with one multi-row
+// INSERT ... RETURNING and one commit; while a commit is in flight the next group builds up.
+@Component
+@Profile("!reactive")
+public class TestProjectsGroupCommit implements MeterBinder {
+
+    @Autowired
+    private TestProjectsBatchService testProjectsBatchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final long timeoutNanos;
+    private final BlockingQueue<PendingCreate> queue;
+    private TransactionTemplate transactionTemplate;
+    private DistributionSummary batchSizes;
+    private volatile boolean running = true;
+    private volatile Thread collector;
+
+    public TestProjectsGroupCommit(@Value("${app.group-commit.enabled:false}") boolean enabled,
+                                   @Value("${app.group-commit.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${app.group-commit.window:1ms}") Duration window,
+                                   @Value("${app.group-commit.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.group-commit.timeout:10s}") Duration timeout) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Started once the bean is fully initialised, so the collector never sees it half-built
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            collector = new Thread(this::collect, "group-commit-collector");
+            collector.setDaemon(true);
+            collector.start();
+        }
+    }
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Blocks until the group containing this row has committed.
+    // RejectedExecutionException and InterruptedException mean the row was not inserted, so the request is safe to retry
+    public TestProjects create(String name) throws InterruptedException {
+        if (collector == null || !collector.isAlive()) {
+            throw new RejectedExecutionException("Group commit collector is not running");
+        }
+        PendingCreate pending = new PendingCreate(name, new CompletableFuture<>(), new AtomicBoolean());
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("Group commit queue is full");
+        }
+        try {
+            return pending.future().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                throw e;
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while the row was being inserted", e);
+        } catch (TimeoutException e) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                // Still queued: the collector will skip it
+                throw new RejectedExecutionException("Group commit timed out before the row was inserted");
+            }
+            // Its group is already committing, so it may or may not be inserted
+            throw new IllegalStateException("Group commit timed out while the row was being inserted");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (collector != null) {
+            collector.interrupt();
+        }
+        List<PendingCreate> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.future().completeExceptionally(new RejectedExecutionException("Shutting down")));
+    }
+
+    private void collect() {
+        List<PendingCreate> group = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                group.add(queue.take());
+                // Wait at most one window after the first row for more to arrive
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxBatchSize) {
+                    if (queue.drainTo(group, maxBatchSize - group.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingCreate next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                group.forEach(pending -> pending.future().completeExceptionally(new RejectedExecutionException("Shutting down")));
+                return;
+            }
+            // Rows whose callers already gave up are left out
+            group.removeIf(pending -> !pending.claimed().compareAndSet(false, true));
+            try {
+                if (!group.isEmpty()) {
+                    commit(group);
+                }
+            } catch (Throwable e) {
+                // Keep the collector alive for the next group; callers still waiting get the failure
+                group.forEach(pending -> pending.future().completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    private void commit(List<PendingCreate> group) {
+        try {
+            List<TestProjects> created = insert(group);
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).future().complete(created.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (group.size() == 1) {
+                group.get(0).future().completeExceptionally(e);
+                return;
+            }
+            // The group was rolled back, and one bad row must not fail its neighbours: retry them one by one
+            for (PendingCreate pending : group) {
+                commit(List.of(pending));
+            }
+        }
+        // Anything else (a lost connection, a failed commit) may have committed, so it is not retried
+    }
+
+    private List<TestProjects> insert(List<PendingCreate> group) {
+        List<String> names = new ArrayList<>(group.size());
+        group.forEach(pending -> names.add(pending.name()));
+        List<TestProjects> created = transactionTemplate.execute(status -> {
+            List<TestProjects> rows = testProjectsBatchService.insert(names);
+            rows.forEach(project -> eventPublisher.publishEvent(TestProjectsChangedEvent.created(project)));
+            return rows;
+        });
+        if (batchSizes != null) {
+            batchSizes.record(group.size());
+        }
+        return created;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        batchSizes = DistributionSummary.builder("group.commit.batch.size")
+                .description("Rows per group commit; its count is the number of commits")
+                .register(registry);
+    }
+
+    // claimed is set by whichever comes first: the collector taking the row, or its caller timing out
+    private record PendingCreate(String name, CompletableFuture<TestProjects> future, AtomicBoolean claimed) {
+    }
+}
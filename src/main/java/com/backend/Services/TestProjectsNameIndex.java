@@ -0,0 +1,432 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntPredicate;
+
+// In-process prefix and substring index over TestProjects names.
+// Prefix lookups use a sorted map. Substring lookups use sets of ids per 1-, 2- and 3-character gram:
+// needles of up to three characters are answered by their own gram, longer ones by their rarest trigram,
+// verified against the current name.
+@Component
+public class TestProjectsNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestProjectsNameIndex.class);
+    static final int LOAD_FETCH_SIZE = 1000;
+    static final String LOAD_SQL = "SELECT \"Id\", \"Name\" FROM \"TestProjects\"";
+    // A failed load (e.g. the database is not up yet) is retried with exponential backoff up to this cap
+    private static final long RETRY_INITIAL_DELAY_MILLIS = 1000;
+    private static final long RETRY_MAX_DELAY_MILLIS = 60_000;
+
+    // One of the two is present, depending on the stack
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private Loader reactiveLoader;
+
+    // Loads run off the request and startup threads; a single thread keeps rebuilds from overlapping
+    private final ScheduledExecutorService loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "name-index-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private volatile boolean ready;
+    // Only touched on the loader thread
+    private long retryDelayMillis = RETRY_INITIAL_DELAY_MILLIS;
+    // Changes committed while a rebuild is loading; replayed onto the new index before it is swapped in
+    private List<TestProjectsChangedEvent> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        loader.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChange(TestProjectsChangedEvent event) {
+        if (event.type() == TestProjectsChangedEvent.Type.RELOADED) {
+            loader.execute(this::rebuild);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Prefix matches first (alphabetically), then other substring matches
+    public List<TestProjectsView> search(String query, int limit) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return index.search(needle, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            load(rebuilt);
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Failed to build TestProjects name index, retrying in {} ms: {}", retryDelayMillis, e.getMessage(), e);
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Until a load succeeds, search keeps answering 503 (or serves the index from before a failed reload)
+            loader.schedule(this::rebuild, retryDelayMillis, TimeUnit.MILLISECONDS);
+            retryDelayMillis = Math.min(retryDelayMillis * 2, RETRY_MAX_DELAY_MILLIS);
+            return;
+        }
+        retryDelayMillis = RETRY_INITIAL_DELAY_MILLIS;
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(rebuilt::apply);
+            pendingDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("TestProjects name index built with {} names", rebuilt.names.size());
+    }
+
+    // Cursor-based reads keep memory bounded to the index itself
+    private void load(Index rebuilt) throws SQLException {
+        if (dataSource == null) {
+            reactiveLoader.load(rebuilt::put);
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement stmt = connection.prepareStatement(LOAD_SQL)) {
+                stmt.setFetchSize(LOAD_FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rebuilt.put(rs.getInt(1), rs.getString(2));
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    // Reads every row of LOAD_SQL into row on the calling (loader) thread, on stacks without a DataSource
+    interface Loader {
+        void load(BiConsumer<Integer, String> row);
+    }
+
+    // For tests and diagnostics: ids across all gram sets
+    long postings() {
+        lock.readLock().lock();
+        try {
+            return index.postings();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Index {
+        private final Map<Integer, Entry> names = new HashMap<>();
+        // lower-cased name + '\0' + id -> id
+        private final NavigableMap<String, Integer> byName = new TreeMap<>();
+        // Every distinct 1-, 2- and 3-character substring -> ids of the names containing it.
+        // Kept exact: updates and deletes take the id out of the grams the old name had.
+        private final Map<String, IntHashSet> grams = new HashMap<>();
+
+        void apply(TestProjectsChangedEvent event) {
+            switch (event.type()) {
+                case CREATED, UPDATED -> put(event.id(), event.name());
+                case DELETED -> remove(event.id());
+                default -> {
+                }
+            }
+        }
+
+        void put(int id, String name) {
+            if (name == null) {
+                return;
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            Entry previous = names.put(id, new Entry(name, lower));
+            if (previous != null) {
+                byName.remove(previous.lower() + '\0' + id);
+            }
+            byName.put(lower + '\0' + id, id);
+            if (previous != null && previous.lower().equals(lower)) {
+                return;
+            }
+            Set<String> added = grams(lower);
+            if (previous != null) {
+                for (String gram : grams(previous.lower())) {
+                    if (!added.remove(gram)) {
+                        removeFromGram(gram, id);
+                    }
+                }
+            }
+            for (String gram : added) {
+                grams.computeIfAbsent(gram, key -> new IntHashSet()).add(id);
+            }
+        }
+
+        void remove(int id) {
+            Entry previous = names.remove(id);
+            if (previous != null) {
+                byName.remove(previous.lower() + '\0' + id);
+                for (String gram : grams(previous.lower())) {
+                    removeFromGram(gram, id);
+                }
+            }
+        }
+
+        private void removeFromGram(String gram, int id) {
+            IntHashSet ids = grams.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+
+        private static Set<String> grams(String lower) {
+            Set<String> grams = new HashSet<>();
+            for (int length = 1; length <= 3; length++) {
+                for (int i = 0; i + length <= lower.length(); i++) {
+                    grams.add(lower.substring(i, i + length));
+                }
+            }
+            return grams;
+        }
+
+        long postings() {
+            long postings = 0;
+            for (IntHashSet ids : grams.values()) {
+                postings += ids.size();
+            }
+            return postings;
+        }
+
+        List<TestProjectsView> search(String needle, int limit) {
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (Integer id : byName.subMap(needle, true, needle + Character.MAX_VALUE, false).values()) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                ids.add(id);
+            }
+
+            if (ids.size() < limit) {
+                collectSubstringMatches(needle, limit, ids);
+            }
+
+            List<TestProjectsView> results = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                results.add(new TestProjectsView(id, names.get(id).name()));
+            }
+            return results;
+        }
+
+        // Walks the candidate set and stops once the limit is reached
+        private void collectSubstringMatches(String needle, int limit, Set<Integer> ids) {
+            IntHashSet candidates;
+            if (needle.length() <= 3) {
+                // The needle is itself a gram, so its set holds exactly the matches
+                candidates = grams.get(needle);
+            } else {
+                // Every trigram of the needle occurs in a match, so the rarest one alone gives the candidates
+                candidates = null;
+                for (int i = 0; i + 3 <= needle.length(); i++) {
+                    IntHashSet posting = grams.get(needle.substring(i, i + 3));
+                    if (posting == null) {
+                        return;
+                    }
+                    if (candidates == null || posting.size() < candidates.size()) {
+                        candidates = posting;
+                    }
+                }
+            }
+            if (candidates == null) {
+                return;
+            }
+            candidates.forEachWhile(id -> {
+                Entry entry = names.get(id);
+                if (entry != null && (needle.length() <= 3 || entry.lower().contains(needle))) {
+                    ids.add(id);
+                }
+                return ids.size() < limit;
+            });
+        }
+    }
+
+    private record Entry(String name, String lower) {
+    }
+
+    // Open-addressing set of ints (linear probing, backward-shift deletion), far smaller than a HashSet<Integer>
+    static final class IntHashSet {
+        private int[] keys = new int[4];
+        // 0 marks a free slot, so 0 itself is tracked separately
+        private boolean containsZero;
+        private int size;
+
+        boolean add(int value) {
+            if (value == 0) {
+                boolean added = !containsZero;
+                containsZero = true;
+                return added;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int slot = slot(value, mask);
+            while (keys[slot] != 0) {
+                if (keys[slot] == value) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = value;
+            size++;
+            return true;
+        }
+
+        boolean remove(int value) {
+            if (value == 0) {
+                boolean removed = containsZero;
+                containsZero = false;
+                return removed;
+            }
+            int mask = keys.length - 1;
+            int slot = slot(value, mask);
+            while (keys[slot] != value) {
+                if (keys[slot] == 0) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Pull later entries of the probe run back into the gap, so lookups never stop early
+            int gap = slot;
+            for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                int home = slot(keys[next], mask);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    gap = next;
+                }
+            }
+            keys[gap] = 0;
+            size--;
+            if (keys.length > 4 && size * 8 < keys.length) {
+                resize(keys.length / 2);
+            }
+            return true;
+        }
+
+        boolean contains(int value) {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = keys.length - 1;
+            for (int slot = slot(value, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return containsZero ? size + 1 : size;
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        // Stops as soon as action returns false
+        void forEachWhile(IntPredicate action) {
+            if (containsZero && !action.test(0)) {
+                return;
+            }
+            for (int key : keys) {
+                if (key != 0 && !action.test(key)) {
+                    return;
+                }
+            }
+        }
+
+        private void resize(int capacity) {
+            int[] old = keys;
+            keys = new int[capacity];
+            int mask = capacity - 1;
+            for (int key : old) {
+                if (key != 0) {
+                    int slot = slot(key, mask);
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = key;
+                }
+            }
+        }
+
+        private static int slot(int value, int mask) {
+            int hash = value * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.backend.Services;
+
+import com.backend.Config.ReadRouting;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Identical concurrent GET /api/test page requests share one query.
+// Requests pinned to the primary (read-your-writes) only share with each other, never with a replica read.
+@Component
+public class TestProjectsPageCoalescer implements MeterBinder {
+
+    private final SingleFlight<String, List<TestProjectsView>> flights = new SingleFlight<>();
+
+    public List<TestProjectsView> page(int after, int limit, Supplier<List<TestProjectsView>> loader) {
+        return flights.execute(after + ":" + limit + (ReadRouting.isPrimaryForced() ? ":primary" : ""), loader);
+    }
+
+    // Any committed write may change any page
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChange(TestProjectsChangedEvent event) {
+        flights.forgetAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("coalesced.requests", flights, SingleFlight::getExecutedCount)
+                .tag("route", "list").tag("outcome", "executed").register(registry);
+        FunctionCounter.builder("coalesced.requests", flights, SingleFlight::getMergedCount)
+                .tag("route", "list").tag("outcome", "merged").register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version counters behind the ETags of GET /api/test and GET /api/test/{id}.
+// The table version moves on every committed write; a row's version is the table version of its last write.
+@Component
+public class TestProjectsVersions {
+
+    // ETags from another instance or an earlier run of this one never validate
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong tableVersion = new AtomicLong();
+    private final Cache<Integer, Long> rowVersions;
+    // Upper bound for the version of any row that is not tracked in rowVersions
+    private final AtomicLong untrackedVersion = new AtomicLong();
+
+    public TestProjectsVersions(@Value("${app.etag.tracked-rows:100000}") long trackedRows) {
+        this.rowVersions = Caffeine.newBuilder()
+                .maximumSize(trackedRows)
+                .evictionListener((Integer id, Long version, RemovalCause cause) ->
+                        untrackedVersion.accumulateAndGet(version, Math::max))
+                .build();
+    }
+
+    // Runs after the cache has been updated, so a reader never pairs a new ETag with an old body
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onChange(TestProjectsChangedEvent event) {
+        long version = tableVersion.incrementAndGet();
+        if (event.type() == TestProjectsChangedEvent.Type.RELOADED) {
+            untrackedVersion.accumulateAndGet(version, Math::max);
+            rowVersions.invalidateAll();
+        } else {
+            rowVersions.put(event.id(), version);
+        }
+    }
+
+    public String tableETag() {
+        return "\"" + epoch + "-" + tableVersion.get() + "\"";
+    }
+
+    public String rowETag(Integer id) {
+        Long version = rowVersions.getIfPresent(id);
+        return "\"" + epoch + "-" + id + "-" + (version != null ? version : untrackedVersion.get()) + "\"";
+    }
+}
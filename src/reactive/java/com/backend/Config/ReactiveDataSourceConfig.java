@@ -0,0 +1,64 @@
+package com.backend.Config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.client.SSLMode;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.util.Map;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveDataSourceConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(@Value("${app.datasource.maximum-pool-size:10}") int maximumPoolSize,
+                                            Environment environment) {
+        DatabaseUrl databaseUrl = DatabaseUrl.fromEnvironment(environment, "DATABASE_URL");
+        
+        PostgresqlConnectionConfiguration.Builder builder = PostgresqlConnectionConfiguration.builder()
+                .host(databaseUrl.getHost())
+                .port(databaseUrl.getPort())
+                .database(databaseUrl.getDatabase())
+                .username(databaseUrl.getUsername())
+                .password(databaseUrl.getPassword())
+                // Isolated role has a restricted search_path; set it as a startup parameter
+                .options(Map.of("search_path", "public, \"$user\""));
+        
+        String sslMode = databaseUrl.queryParameter("sslmode");
+        if (sslMode != null && !sslMode.isEmpty()) {
+            builder.sslMode(SSLMode.fromValue(sslMode));
+        }
+        
+        ConnectionFactory connectionFactory = new PostgresqlConnectionFactory(builder.build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(maximumPoolSize)
+                .maxSize(maximumPoolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public R2dbcTransactionManager transactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(R2dbcTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
+}
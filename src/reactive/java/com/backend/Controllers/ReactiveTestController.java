@@ -0,0 +1,231 @@
+package com.backend.Controllers;
+
+import com.backend.Models.TestProjectsBatchRequest;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import com.backend.Services.ReactiveTestProjectsBatchService;
+import com.backend.Services.ReactiveTestProjectsChangeFeed;
+import com.backend.Services.ReactiveTestProjectsCopyService;
+import com.backend.Services.ReactiveTestProjectsWrites;
+import com.backend.Services.TestProjectsCache;
+import com.backend.Services.TestProjectsNameIndex;
+import com.backend.Services.TestProjectsVersions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Non-blocking variant of TestController, served by WebFlux when the "reactive" profile is active
+@RestController
+@RequestMapping("/api/test")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveTestController {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveTestProjectsWrites reactiveTestProjectsWrites;
+
+    @Autowired
+    private TestProjectsCache testProjectsCache;
+
+    @Autowired
+    private TestProjectsVersions testProjectsVersions;
+
+    @Autowired
+    private ReactiveTestProjectsBatchService reactiveTestProjectsBatchService;
+
+    @Autowired
+    private ReactiveTestProjectsCopyService reactiveTestProjectsCopyService;
+
+    @Autowired
+    private TestProjectsNameIndex testProjectsNameIndex;
+
+    @Autowired
+    private ReactiveTestProjectsChangeFeed reactiveTestProjectsChangeFeed;
+
+    @GetMapping(value = {"", "/"})
+    public Mono<ResponseEntity<List<TestProjectsView>>> getAll(@RequestParam(required = false) Integer after,
+                                                               @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                               ServerWebExchange exchange) {
+        // Read the version before the data so a concurrent write can only make the ETag older, never newer
+        String eTag = testProjectsVersions.tableETag();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build());
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int afterId = after != null ? after : 0;
+        // Keyset pagination: fetch one extra row to find out whether another page exists
+        return databaseClient
+                .sql("SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" > :after ORDER BY \"Id\" LIMIT :limit")
+                .bind("after", afterId)
+                .bind("limit", pageSize + 1)
+                .map((row, metadata) -> toView(row))
+                .all()
+                .collectList()
+                .map(projects -> {
+                    if (projects.size() > pageSize) {
+                        List<TestProjectsView> page = projects.subList(0, pageSize);
+                        return ResponseEntity.ok()
+                                .eTag(eTag)
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .header("X-Next-Cursor", String.valueOf(page.get(pageSize - 1).id()))
+                                .body(page);
+                    }
+                    return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(projects);
+                });
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TestProjectsView> stream() {
+        return databaseClient
+                .sql("SELECT \"Id\", \"Name\" FROM \"TestProjects\" ORDER BY \"Id\"")
+                .map((row, metadata) -> toView(row))
+                .all();
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        // Pushes committed creates, updates and deletes; a "reset" event means the client must reload its state
+        return reactiveTestProjectsChangeFeed.subscribe(lastEventId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TestProjectsView>> getById(@PathVariable Integer id, ServerWebExchange exchange) {
+        String eTag = testProjectsVersions.rowETag(id);
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build());
+        }
+        Optional<TestProjectsView> cached = testProjectsCache.getIfPresent(id);
+        Mono<Optional<TestProjectsView>> project = cached != null
+                ? Mono.just(cached)
+                : findById(id).map(loaded -> testProjectsCache.putIfAbsent(id, loaded));
+        return project
+                .map(found -> found
+                        .map(view -> ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(view))
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(testProjectsCache.stats());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TestProjectsView>> search(@RequestParam String q,
+                                                         @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!testProjectsNameIndex.isReady()) {
+            // The index is still loading at startup
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        // Served from memory, so it is safe on the event loop
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(testProjectsNameIndex.search(q.strip(), Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT))));
+    }
+
+    private Mono<Optional<TestProjectsView>> findById(Integer id) {
+        return databaseClient
+                .sql("SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toView(row))
+                .one()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TestProjectsView>> create(@RequestBody Map<String, String> request) {
+        return reactiveTestProjectsWrites.inTransaction(events -> databaseClient
+                        .sql("INSERT INTO \"TestProjects\" (\"Name\") VALUES (:name) RETURNING \"Id\", \"Name\"")
+                        .bind("name", request.get("name"))
+                        .map((row, metadata) -> toView(row))
+                        .one()
+                        .doOnNext(project -> events.add(TestProjectsChangedEvent.created(project))))
+                .map(project -> ResponseEntity.status(HttpStatus.CREATED).body(project))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Map<String, Object>>> batch(@RequestBody TestProjectsBatchRequest request) {
+        // All creates, updates and deletes run in one transaction; results are reported per item
+        return reactiveTestProjectsBatchService.apply(request).map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<Map<String, Object>>> importCopy(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                @RequestParam(defaultValue = "false") boolean header,
+                                                                @RequestBody Flux<DataBuffer> body) {
+        // The request body is piped into COPY FROM STDIN without being buffered
+        boolean binary = MediaType.APPLICATION_OCTET_STREAM.includes(MediaType.parseMediaType(contentType));
+        return reactiveTestProjectsCopyService.importFrom(body, binary, header)
+                .map(imported -> ResponseEntity.ok(Map.<String, Object>of("imported", imported)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportCopy(@RequestParam(defaultValue = "csv") String format) {
+        boolean binary = "binary".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(binary ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType("text/csv"))
+                .body(reactiveTestProjectsCopyService.exportTo(binary));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TestProjectsView>> update(@PathVariable Integer id, @RequestBody Map<String, String> request) {
+        return reactiveTestProjectsWrites.inTransaction(events -> databaseClient
+                        .sql("UPDATE \"TestProjects\" SET \"Name\" = :name WHERE \"Id\" = :id RETURNING \"Id\", \"Name\"")
+                        .bind("name", request.get("name"))
+                        .bind("id", id)
+                        .map((row, metadata) -> toView(row))
+                        .one()
+                        .doOnNext(project -> events.add(TestProjectsChangedEvent.updated(project))))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Map<String, String>>> delete(@PathVariable Integer id) {
+        return reactiveTestProjectsWrites.inTransaction(events -> databaseClient
+                        .sql("DELETE FROM \"TestProjects\" WHERE \"Id\" = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated()
+                        .doOnNext(deleted -> {
+                            if (deleted > 0) {
+                                events.add(TestProjectsChangedEvent.deleted(id));
+                            }
+                        }))
+                .map(deleted -> deleted == 0
+                        ? ResponseEntity.notFound().<Map<String, String>>build()
+                        : ResponseEntity.ok(Map.of("message", "Deleted successfully")));
+    }
+
+    private TestProjectsView toView(Row row) {
+        return new TestProjectsView(row.get("Id", Integer.class), row.get("Name", String.class));
+    }
+}
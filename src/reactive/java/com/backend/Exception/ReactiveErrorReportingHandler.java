@@ -0,0 +1,96 @@
+package com.backend.Exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+
+// The reactive stack's counterpart to GlobalExceptionHandler: reports to RUNTIME_ERROR_ENDPOINT_URL through
+// ErrorReportQueue and answers with the same 500 body. Runs ahead of Boot's error handler (order -1).
+@Component
+@Profile("reactive")
+@Order(-2)
+public class ReactiveErrorReportingHandler implements WebExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveErrorReportingHandler.class);
+
+    @Autowired
+    private ErrorReportQueue errorReportQueue;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+        logger.error("[EXCEPTION HANDLER] Unhandled exception occurred: {}", ex.getMessage(), ex);
+
+        String runtimeErrorEndpointUrl = environment.getProperty("RUNTIME_ERROR_ENDPOINT_URL");
+        if (runtimeErrorEndpointUrl != null && !runtimeErrorEndpointUrl.isEmpty()) {
+            report(runtimeErrorEndpointUrl, exchange, ex);
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(Map.of(
+                    "error", "An error occurred while processing your request",
+                    "message", ex.getMessage() != null ? ex.getMessage() : "Unknown error"));
+        } catch (JsonProcessingException e) {
+            return Mono.error(ex);
+        }
+        response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private void report(String endpointUrl, ServerWebExchange exchange, Throwable exception) {
+        ServerHttpRequest request = exchange.getRequest();
+        String boardId = GlobalExceptionHandler.extractBoardId(request.getQueryParams().getFirst("boardId"),
+                request.getHeaders().getFirst("X-Board-Id"), request.getURI().getHost(), environment);
+        StackTraceElement[] frames = exception.getStackTrace();
+        String file = frames.length > 0 ? frames[0].getFileName() : null;
+        Integer line = frames.length > 0 ? frames[0].getLineNumber() : null;
+        String requestPath = request.getPath().value();
+        String requestMethod = request.getMethod().name();
+        String userAgent = request.getHeaders().getFirst("User-Agent");
+
+        // Same fingerprint as the servlet stack: the route pattern rather than the path
+        Object route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String fingerprint = exception.getClass().getName() + "@" + (frames.length > 0 ? frames[0] : "") + " " + requestMethod + " "
+                + (route != null ? route : requestPath);
+        errorReportQueue.submit(endpointUrl, fingerprint, () -> new ErrorReport(
+                boardId,
+                Instant.now().toString(),
+                file,
+                line,
+                GlobalExceptionHandler.getStackTrace(exception),
+                exception.getMessage(),
+                exception.getClass().getName(),
+                requestPath,
+                requestMethod,
+                userAgent
+        ));
+    }
+}
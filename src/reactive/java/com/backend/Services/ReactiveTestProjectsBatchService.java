@@ -0,0 +1,158 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjects;
+import com.backend.Models.TestProjectsBatchRequest;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Reactive counterpart of TestProjectsBatchService: the same statements and per-item results, in one R2DBC transaction
+@Service
+@Profile("reactive")
+public class ReactiveTestProjectsBatchService {
+
+    private static final int CHUNK_SIZE = 10000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO \"TestProjects\" (\"Name\") " +
+            "SELECT t.name FROM unnest(:names::text[]) WITH ORDINALITY AS t(name, ord) ORDER BY t.ord " +
+            "RETURNING \"Id\", \"Name\"";
+    private static final String UPDATE_SQL =
+            "UPDATE \"TestProjects\" AS p SET \"Name\" = u.name " +
+            "FROM unnest(:ids::int[], :names::text[]) AS u(id, name) WHERE p.\"Id\" = u.id " +
+            "RETURNING p.\"Id\", p.\"Name\"";
+    private static final String DELETE_SQL =
+            "DELETE FROM \"TestProjects\" WHERE \"Id\" = ANY(:ids::int[]) RETURNING \"Id\"";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveTestProjectsWrites reactiveTestProjectsWrites;
+
+    public Mono<Map<String, Object>> apply(TestProjectsBatchRequest request) {
+        return reactiveTestProjectsWrites.inTransaction(events -> {
+            Map<String, Object> response = new LinkedHashMap<>();
+            return createAll(request.create() != null ? request.create() : List.of(), events)
+                    .doOnNext(created -> response.put("created", created))
+                    .then(updateAll(request.update() != null ? request.update() : List.of(), events))
+                    .doOnNext(updated -> response.put("updated", updated))
+                    .then(deleteAll(request.delete() != null ? request.delete() : List.of(), events))
+                    .doOnNext(deleted -> response.put("deleted", deleted))
+                    .thenReturn(response);
+        });
+    }
+
+    private Mono<List<Map<String, Object>>> createAll(List<Map<String, String>> items, List<TestProjectsChangedEvent> events) {
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        List<String> names = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (Map<String, String> item : items) {
+            String name = item != null ? item.get("name") : null;
+            if (name == null) {
+                results.add(result(null, 400, null));
+            } else {
+                positions.add(results.size());
+                names.add(name);
+                results.add(null);
+            }
+        }
+
+        return Flux.fromIterable(chunks(names))
+                .concatMap(chunk -> databaseClient.sql(INSERT_SQL)
+                        .bind("names", chunk.toArray(new String[0]))
+                        .map(row -> new TestProjectsView(row.get(0, Integer.class), row.get(1, String.class)))
+                        .all())
+                .collectList()
+                .map(created -> {
+                    for (int i = 0; i < created.size(); i++) {
+                        TestProjectsView project = created.get(i);
+                        events.add(TestProjectsChangedEvent.created(project));
+                        results.set(positions.get(i), result(project.id(), 201, project));
+                    }
+                    return results;
+                });
+    }
+
+    private Mono<List<Map<String, Object>>> updateAll(List<TestProjects> items, List<TestProjectsChangedEvent> events) {
+        List<TestProjects> valid = items.stream()
+                .filter(item -> item != null && item.getId() != null && item.getName() != null)
+                .toList();
+
+        return Flux.fromIterable(chunks(valid))
+                .concatMap(chunk -> databaseClient.sql(UPDATE_SQL)
+                        .bind("ids", chunk.stream().map(TestProjects::getId).toArray(Integer[]::new))
+                        .bind("names", chunk.stream().map(TestProjects::getName).toArray(String[]::new))
+                        .map(row -> new TestProjectsView(row.get(0, Integer.class), row.get(1, String.class)))
+                        .all())
+                .collectMap(TestProjectsView::id, project -> project, HashMap::new)
+                .map(updated -> {
+                    updated.values().forEach(project -> events.add(TestProjectsChangedEvent.updated(project)));
+                    List<Map<String, Object>> results = new ArrayList<>(items.size());
+                    for (TestProjects item : items) {
+                        if (item == null || item.getId() == null || item.getName() == null) {
+                            results.add(result(item != null ? item.getId() : null, 400, null));
+                        } else if (updated.containsKey(item.getId())) {
+                            results.add(result(item.getId(), 200, updated.get(item.getId())));
+                        } else {
+                            results.add(result(item.getId(), 404, null));
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    private Mono<List<Map<String, Object>>> deleteAll(List<Integer> ids, List<TestProjectsChangedEvent> events) {
+        List<Integer> valid = ids.stream().filter(id -> id != null).toList();
+
+        return Flux.fromIterable(chunks(valid))
+                .concatMap(chunk -> databaseClient.sql(DELETE_SQL)
+                        .bind("ids", chunk.toArray(new Integer[0]))
+                        .map(row -> row.get(0, Integer.class))
+                        .all())
+                .collect(HashSet<Integer>::new, Set::add)
+                .map(deleted -> {
+                    deleted.forEach(id -> events.add(TestProjectsChangedEvent.deleted(id)));
+                    List<Map<String, Object>> results = new ArrayList<>(ids.size());
+                    for (Integer id : ids) {
+                        if (id == null) {
+                            results.add(result(null, 400, null));
+                        } else {
+                            results.add(result(id, deleted.contains(id) ? 200 : 404, null));
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
+
+    private Map<String, Object> result(Integer id, int status, TestProjectsView item) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("status", status);
+        if (item != null) {
+            result.put("item", item);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.backend.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+// GET /api/test/changes on the reactive stack: the same TestProjectsChangeFeed, delivered through a Reactor sink
+@Component
+@Profile("reactive")
+public class ReactiveTestProjectsChangeFeed {
+
+    @Autowired
+    private TestProjectsChangeFeed testProjectsChangeFeed;
+
+    public Flux<ServerSentEvent<String>> subscribe(String lastEventId) {
+        SinkSubscriber subscriber = new SinkSubscriber(testProjectsChangeFeed.getMaxQueuedPerSubscriber());
+        testProjectsChangeFeed.register(subscriber, lastEventId);
+        return subscriber.sink.asFlux()
+                .take(testProjectsChangeFeed.getSubscriberTimeout())
+                .doFinally(signal -> testProjectsChangeFeed.unregister(subscriber));
+    }
+
+    private static ServerSentEvent<String> toEvent(TestProjectsChangeFeed.Frame frame) {
+        return ServerSentEvent.<String>builder().id(frame.id()).event(frame.name()).data(frame.data()).comment(frame.comment()).build();
+    }
+
+    // Reactor drains the sink as the client's connection accepts data; the bounded buffer is the subscriber's queue
+    private final class SinkSubscriber implements TestProjectsChangeFeed.Subscriber {
+        private final Sinks.Many<ServerSentEvent<String>> sink;
+
+        SinkSubscriber(int maxQueued) {
+            sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(maxQueued).get());
+        }
+
+        @Override
+        public synchronized void offer(TestProjectsChangeFeed.Frame frame) {
+            // Offers come from the listener, heartbeat and subscribing threads; the sink needs them serialized
+            if (sink.tryEmitNext(frame.reactive(ReactiveTestProjectsChangeFeed::toEvent)) == Sinks.EmitResult.FAIL_OVERFLOW
+                    && testProjectsChangeFeed.drop(this)) {
+                sink.tryEmitComplete();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            sink.tryEmitComplete();
+        }
+    }
+}
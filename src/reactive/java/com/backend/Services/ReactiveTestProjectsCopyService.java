@@ -0,0 +1,129 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Reactive counterpart of TestProjectsCopyService.
+// Imports use COPY FROM STDIN on the driver connection. The driver has no COPY TO STDOUT, so exports
+// stream a cursor and encode it in COPY's own CSV or binary format; the output is byte-for-byte the same.
+@Service
+@Profile("reactive")
+public class ReactiveTestProjectsCopyService {
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final byte[] CSV_HEADER = "Id,Name\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveTestProjectsWrites reactiveTestProjectsWrites;
+
+    public Mono<Long> importFrom(Flux<DataBuffer> body, boolean binary, boolean header) {
+        String sql = TestProjectsCopyService.importSql(binary, header);
+        return Mono.usingWhen(connectionFactory.create(),
+                        connection -> postgresqlConnection(connection).copyIn(sql, body.map(NettyDataBufferFactory::toByteBuf)),
+                        Connection::close)
+                // COPY has committed; only the notification and local events remain
+                .flatMap(rows -> reactiveTestProjectsWrites.inTransaction(events -> {
+                    events.add(TestProjectsChangedEvent.reloaded());
+                    return Mono.just(rows);
+                }));
+    }
+
+    public Flux<DataBuffer> exportTo(boolean binary) {
+        Flux<DataBuffer> rows = databaseClient.sql(TestProjectsCopyService.EXPORT_QUERY)
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(row -> new TestProjectsView(row.get(0, Integer.class), row.get(1, String.class)))
+                .all()
+                .buffer(EXPORT_FETCH_SIZE)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(binary ? binaryRows(chunk) : csvRows(chunk)));
+        if (!binary) {
+            return Flux.concat(Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(CSV_HEADER)), rows);
+        }
+        return Flux.concat(Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(binaryHeader())),
+                rows,
+                Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[] {(byte) 0xff, (byte) 0xff})));
+    }
+
+    private static PostgresqlConnection postgresqlConnection(Connection connection) {
+        Object unwrapped = connection;
+        while (!(unwrapped instanceof PostgresqlConnection) && unwrapped instanceof Wrapped<?> wrapped) {
+            unwrapped = wrapped.unwrap();
+        }
+        return (PostgresqlConnection) unwrapped;
+    }
+
+    // COPY quotes a value holding a delimiter, quote or line break, and an empty string so it differs from NULL
+    private static byte[] csvRows(List<TestProjectsView> chunk) {
+        StringBuilder csv = new StringBuilder(chunk.size() * 32);
+        for (TestProjectsView project : chunk) {
+            csv.append(project.id()).append(',');
+            String name = project.name();
+            if (name != null) {
+                if (name.isEmpty() || name.indexOf(',') >= 0 || name.indexOf('"') >= 0
+                        || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                    csv.append('"').append(name.replace("\"", "\"\"")).append('"');
+                } else {
+                    csv.append(name);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] binaryHeader() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BINARY_SIGNATURE.length + 8);
+        bytes.writeBytes(BINARY_SIGNATURE);
+        // Flags, then the length of the (empty) header extension
+        bytes.writeBytes(new byte[8]);
+        return bytes.toByteArray();
+    }
+
+    // Each tuple: field count, then each field as its length (-1 for NULL) and its binary value
+    private static byte[] binaryRows(List<TestProjectsView> chunk) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(chunk.size() * 40);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (TestProjectsView project : chunk) {
+                out.writeShort(2);
+                out.writeInt(4);
+                out.writeInt(project.id());
+                if (project.name() == null) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] name = project.name().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
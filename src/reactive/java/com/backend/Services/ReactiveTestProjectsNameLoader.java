@@ -0,0 +1,29 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiConsumer;
+
+// Loads TestProjectsNameIndex over R2DBC when the reactive stack has no JDBC DataSource
+@Component
+@Profile("reactive")
+public class ReactiveTestProjectsNameLoader implements TestProjectsNameIndex.Loader {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Override
+    public void load(BiConsumer<Integer, String> row) {
+        // Blocking is fine here: this is the index's loader thread, not an event loop
+        databaseClient.sql(TestProjectsNameIndex.LOAD_SQL)
+                .filter(statement -> statement.fetchSize(TestProjectsNameIndex.LOAD_FETCH_SIZE))
+                .map(result -> new TestProjectsView(result.get(0, Integer.class), result.get(1, String.class)))
+                .all()
+                .doOnNext(view -> row.accept(view.id(), view.name()))
+                .blockLast();
+    }
+}
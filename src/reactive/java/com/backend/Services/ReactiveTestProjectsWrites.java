@@ -0,0 +1,58 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Runs a reactive write in one R2DBC transaction. The change events it collects are sent to NOTIFY
+// inside the transaction and published locally once it commits, which is what the cache, ETag versions
+// and name index see from servlet writes through @TransactionalEventListener.
+@Component
+@Profile("reactive")
+public class ReactiveTestProjectsWrites {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private TestProjectsChangeNotifier testProjectsChangeNotifier;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public <T> Mono<T> inTransaction(Function<List<TestProjectsChangedEvent>, Mono<T>> work) {
+        return Mono.defer(() -> {
+            List<TestProjectsChangedEvent> events = new ArrayList<>();
+            return work.apply(events)
+                    .flatMap(result -> notify(events).thenReturn(result))
+                    .as(transactionalOperator::transactional)
+                    .doOnSuccess(result -> events.forEach(eventPublisher::publishEvent));
+        });
+    }
+
+    private Mono<Void> notify(List<TestProjectsChangedEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        String[] payloads = new String[events.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = testProjectsChangeNotifier.payload(events.get(i), i);
+        }
+        return databaseClient.sql("SELECT pg_notify(:channel, payload) FROM unnest(:payloads::text[]) WITH ORDINALITY AS p(payload, position) ORDER BY position")
+                .bind("channel", TestProjectsChangeNotifier.CHANNEL)
+                .bind("payloads", payloads)
+                .then();
+    }
+}
@@ -0,0 +1,51 @@
+package com.backend.Config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedDataSourceTest {
+
+    @Test
+    void permitIsHeldUntilTheConnectionCloses() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 50, registry);
+
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        // Closing twice must not hand out a second permit
+        first.close();
+        Connection second = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+
+        verify(physical, times(3)).close();
+        assertThat(registry.get("db.permits.wait").timer().count()).isEqualTo(4);
+        assertThat(registry.get("db.permits.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedAcquisitionReleasesThePermit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 50, new SimpleMeterRegistry());
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+    }
+}
@@ -0,0 +1,47 @@
+package com.backend.Config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingFilterTest {
+
+    // A limit of one, already taken
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.9, 0.8, () -> 0);
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(limiter, CorsConfig.corsConfiguration());
+
+    @Test
+    void shedResponseCarriesCorsHeaders() throws Exception {
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test");
+        request.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("*");
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS)).contains("X-Next-Cursor");
+    }
+
+    @Test
+    void preflightIsNeverShed() throws Exception {
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/test");
+        request.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+}
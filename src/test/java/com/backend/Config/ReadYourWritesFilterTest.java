@@ -0,0 +1,60 @@
+package com.backend.Config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @Test
+    void writeHandsOutTheWindowAsCookieAndHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/test"), response, new MockFilterChain());
+
+        String until = response.getHeader(ReadYourWritesFilter.HEADER_NAME);
+        assertThat(Long.parseLong(until)).isGreaterThan(System.currentTimeMillis());
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue()).isEqualTo(until);
+    }
+
+    @Test
+    void echoedHeaderPinsReadsWithoutCookies() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test/1");
+        request.addHeader(ReadYourWritesFilter.HEADER_NAME, Long.toString(System.currentTimeMillis() + 5000));
+        assertThat(route(request)).isEqualTo("primary");
+    }
+
+    @Test
+    void cookiePinsReads() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 5000)));
+        assertThat(route(request)).isEqualTo("primary");
+    }
+
+    @Test
+    void expiredOrMalformedWindowAllowsReplica() throws Exception {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/test/1");
+        expired.addHeader(ReadYourWritesFilter.HEADER_NAME, Long.toString(System.currentTimeMillis() - 1));
+        assertThat(route(expired)).isEqualTo("replica");
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/api/test/1");
+        malformed.addHeader(ReadYourWritesFilter.HEADER_NAME, "soon");
+        assertThat(route(malformed)).isEqualTo("replica");
+        assertThat(ReadRouting.isReplicaAllowed()).isFalse();
+    }
+
+    private String route(MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> route = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> route.set(
+                ReadRouting.isPrimaryForced() ? "primary" : ReadRouting.isReplicaAllowed() ? "replica" : "default"));
+        return route.get();
+    }
+}
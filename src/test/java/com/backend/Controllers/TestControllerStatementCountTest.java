@@ -0,0 +1,100 @@
+package com.backend.Controllers;
+
+import com.backend.LocalPostgres;
+import com.backend.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Before the search_path moved to connectionInitSql every request ran SET search_path plus its query
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Every GET /api/test/{id} reaches the database
+        "app.cache.test-projects.ttl=0s",
+        "app.cache.test-projects.negative-ttl=0s",
+        // A single physical connection, so its server-side prepared statements can be inspected
+        "app.datasource.maximum-pool-size=1",
+        "app.load-shedding.enabled=false"
+})
+@Import(StatementCounter.Config.class)
+@EnabledIf("com.backend.LocalPostgres#isAvailable")
+class TestControllerStatementCountTest {
+
+    private static final int REQUESTS = 20;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LocalPostgres postgres = LocalPostgres.shared();
+        postgres.recreateSchema();
+        postgres.seed(100);
+        registry.add("DATABASE_URL", postgres::getDatabaseUrl);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void warmUp() {
+        restTemplate.getForEntity("/api/test/1", Map.class);
+        statementCounter.reset();
+    }
+
+    @Test
+    void getByIdRunsOneStatementPerRequest() {
+        for (int i = 1; i <= REQUESTS; i++) {
+            ResponseEntity<Map> response = restTemplate.getForEntity("/api/test/" + i, Map.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        List<String> executed = statementCounter.executed();
+        assertThat(executed).hasSize(REQUESTS);
+        assertThat(executed).allMatch(sql -> sql.startsWith("SELECT \"Id\", \"Name\" FROM \"TestProjects\" WHERE \"Id\" = "));
+    }
+
+    @Test
+    void writesRunTheirStatementAndOneNotification() {
+        ResponseEntity<Map> created = restTemplate.postForEntity("/api/test", Map.of("name", "counted"), Map.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Object id = created.getBody().get("id");
+        restTemplate.exchange("/api/test/" + id, HttpMethod.PUT, new HttpEntity<>(Map.of("name", "recounted")), Map.class);
+        restTemplate.exchange("/api/test/" + id, HttpMethod.DELETE, null, Map.class);
+
+        // INSERT, UPDATE and DELETE, each followed by the pg_notify for the change feed
+        List<String> executed = statementCounter.executed();
+        assertThat(executed).hasSize(6);
+        assertThat(executed).noneMatch(sql -> sql.toLowerCase().contains("search_path"));
+        assertThat(executed).filteredOn(sql -> sql.contains("pg_notify")).hasSize(3);
+    }
+
+    @Test
+    void repeatedQueriesAreServerPrepared() {
+        for (int i = 1; i <= REQUESTS; i++) {
+            restTemplate.getForEntity("/api/test/" + i, Map.class);
+        }
+
+        // Same physical connection as the requests (pool size 1): the by-id query was parsed and planned once
+        List<String> prepared = jdbcTemplate.queryForList("SELECT statement FROM pg_prepared_statements", String.class);
+        assertThat(prepared).filteredOn(sql -> sql.contains("WHERE \"Id\" = $1")).hasSize(1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.Exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorReportQueueTest {
+
+    @Test
+    void droppedReportsAndOccurrencesAreCountedSeparately() throws Exception {
+        // One pending fingerprint at most, and no flush during the test
+        ErrorReportQueue queue = new ErrorReportQueue(1, 1, Duration.ofMinutes(1));
+        try {
+            queue.submit("http://127.0.0.1:1/errors", "a", ErrorReportQueueTest::report);
+            queue.submit("http://127.0.0.1:1/errors", "a", ErrorReportQueueTest::report);
+            queue.submit("http://127.0.0.1:1/errors", "b", ErrorReportQueueTest::report);
+
+            assertThat(queue.getSubmittedCount()).isEqualTo(3);
+            assertThat(queue.getDeduplicatedCount()).isEqualTo(1);
+            assertThat(queue.getDroppedCount()).isEqualTo(1);
+            assertThat(queue.getDroppedOccurrences()).isEqualTo(1);
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    private static ErrorReport report() {
+        return new ErrorReport(null, "2024-01-01T00:00:00Z", null, null, "", "boom",
+                "java.lang.IllegalStateException", "/api/test", "GET", null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.Exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorReportTest {
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() {
+        assertThat(ErrorReport.escapeJson("plain")).isEqualTo("plain");
+        assertThat(ErrorReport.escapeJson("a\"b\\c")).isEqualTo("a\\\"b\\\\c");
+        assertThat(ErrorReport.escapeJson("\tat x\r\n")).isEqualTo("\\tat x\\r\\n");
+        assertThat(ErrorReport.escapeJson("\u0000\u001f\u0008")).isEqualTo("\\u0000\\u001f\\u0008");
+        assertThat(ErrorReport.escapeJson("")).isEmpty();
+    }
+
+    @Test
+    void payloadIsValidJsonThatRoundTrips() throws Exception {
+        String stackTrace = "java.lang.IllegalStateException: \"bad\"\n\tat C:\\app\\Main.java\u0001";
+        ErrorReport report = new ErrorReport(null, "2024-01-01T00:00:00Z", "Main.java", 7, stackTrace,
+                null, "java.lang.IllegalStateException", "/api/test/1", "GET", null);
+
+        JsonNode json = new ObjectMapper().readTree(report.toJson(3));
+
+        assertThat(json.get("boardId").isNull()).isTrue();
+        assertThat(json.get("stackTrace").asText()).isEqualTo(stackTrace);
+        assertThat(json.get("message").asText()).isEqualTo("Unknown error");
+        assertThat(json.get("line").asInt()).isEqualTo(7);
+        assertThat(json.get("occurrences").asInt()).isEqualTo(3);
+    }
+}
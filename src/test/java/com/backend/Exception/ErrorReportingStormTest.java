@@ -0,0 +1,172 @@
+package com.backend.Exception;
+
+import com.backend.LocalPostgres;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// An error storm against one route must cost a fixed set of threads and a handful of outbound reports
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.error-reporting.flush-interval=200ms",
+        "app.error-reporting.workers=2",
+        "app.load-shedding.enabled=false"
+})
+@EnabledIf("com.backend.LocalPostgres#isAvailable")
+class ErrorReportingStormTest {
+
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 100;
+    private static final Pattern OCCURRENCES = Pattern.compile("\"occurrences\":(\\d+)");
+    private static final Pattern REQUEST_PATH = Pattern.compile("\"requestPath\":\"([^\"]*)\"");
+
+    private static HttpServer endpoint;
+    private static final Queue<String> received = new ConcurrentLinkedQueue<>();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        endpoint = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        endpoint.createContext("/errors", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                received.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        endpoint.setExecutor(Executors.newSingleThreadExecutor());
+        endpoint.start();
+
+        registry.add("DATABASE_URL", () -> LocalPostgres.shared().getDatabaseUrl());
+        registry.add("RUNTIME_ERROR_ENDPOINT_URL", () -> "http://localhost:" + endpoint.getAddress().getPort() + "/errors");
+    }
+
+    @AfterAll
+    static void stopEndpoint() {
+        endpoint.stop(0);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ErrorReportQueue errorReportQueue;
+
+    @Test
+    void errorStormIsCollapsedIntoFewReportsOnFixedThreads() throws Exception {
+        // Every path is distinct, but all of them fail in the same place on /api/test/{id}
+        restTemplate.getForEntity("/api/test/warmup", Map.class);
+        awaitReported(1);
+        received.clear();
+        long submittedBefore = errorReportQueue.getSubmittedCount();
+        int threadsBefore = reportingThreads();
+
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger peakThreads = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        Thread sampler = new Thread(() -> {
+            while (done.getCount() > 0) {
+                peakThreads.accumulateAndGet(reportingThreads(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+        long started = System.nanoTime();
+        for (int client = 0; client < CLIENTS; client++) {
+            int clientId = client;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        var response = restTemplate.getForEntity("/api/test/not-a-number-" + clientId + "-" + i, Map.class);
+                        if (response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        sampler.join();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        assertThat(failures.get()).isEqualTo(total);
+        assertThat(errorReportQueue.getSubmittedCount() - submittedBefore).isEqualTo(total);
+
+        // Every occurrence is accounted for, none dropped
+        awaitReported(total);
+        assertThat(errorReportQueue.getDroppedCount()).isZero();
+        assertThat(errorReportQueue.getDroppedOccurrences()).isZero();
+
+        // One fingerprint means at most one report per flush, however many requests failed
+        List<String> reports = new ArrayList<>(received);
+        assertThat(reports.size()).isLessThanOrEqualTo((int) (elapsedMillis / 200) + 3);
+        assertThat(reports).allSatisfy(report -> {
+            Matcher path = REQUEST_PATH.matcher(report);
+            assertThat(path.find()).isTrue();
+            assertThat(path.group(1)).startsWith("/api/test/not-a-number-");
+        });
+
+        // The flusher and senders are created once; the storm does not add threads for reporting
+        assertThat(peakThreads.get()).isEqualTo(threadsBefore);
+    }
+
+    private void awaitReported(int occurrences) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reportedOccurrences() < occurrences && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(reportedOccurrences()).isEqualTo(occurrences);
+    }
+
+    private static int reportedOccurrences() {
+        int occurrences = 0;
+        for (String report : received) {
+            Matcher matcher = OCCURRENCES.matcher(report);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Report without occurrences: " + report);
+            }
+            occurrences += Integer.parseInt(matcher.group(1));
+        }
+        return occurrences;
+    }
+
+    // The queue's own threads plus the threads of its HttpClient
+    private static int reportingThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("error-report-") || thread.getName().startsWith("HttpClient-")) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
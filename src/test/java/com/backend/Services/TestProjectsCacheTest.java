@@ -0,0 +1,45 @@
+package com.backend.Services;
+
+import com.backend.Config.ReadRouting;
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestProjectsCacheTest {
+
+    private final TestProjectsCache cache = new TestProjectsCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    @AfterEach
+    void clearRouting() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    void pinnedReadBypassesAStaleEntry() {
+        cache.get(1, id -> Optional.of(new TestProjectsView(id, "replica")));
+
+        ReadRouting.forcePrimary();
+        assertThat(cache.get(1, id -> Optional.of(new TestProjectsView(id, "primary")))).contains(new TestProjectsView(1, "primary"));
+
+        ReadRouting.clear();
+        // The cached entry is only replaced by the write's own event
+        assertThat(cache.get(1, id -> Optional.empty())).contains(new TestProjectsView(1, "replica"));
+        cache.onChange(new TestProjectsChangedEvent(TestProjectsChangedEvent.Type.UPDATED, 1, "primary"));
+        assertThat(cache.get(1, id -> Optional.empty())).contains(new TestProjectsView(1, "primary"));
+    }
+
+    @Test
+    void pinnedReadFillsAMissingEntry() {
+        ReadRouting.forcePrimary();
+        cache.get(2, id -> Optional.of(new TestProjectsView(id, "primary")));
+
+        ReadRouting.clear();
+        assertThat(cache.get(2, id -> Optional.empty())).contains(new TestProjectsView(2, "primary"));
+    }
+}
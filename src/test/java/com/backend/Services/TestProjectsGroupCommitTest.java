@@ -0,0 +1,151 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjects;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestProjectsGroupCommitTest {
+
+    private final TestProjectsBatchService batchService = mock(TestProjectsBatchService.class);
+    private TestProjectsGroupCommit groupCommit;
+
+    @AfterEach
+    void stop() {
+        if (groupCommit != null) {
+            groupCommit.stop();
+        }
+    }
+
+    @Test
+    void constraintViolationRetriesTheRowsOneByOne() throws Exception {
+        groupCommit = start(2, Duration.ofSeconds(10));
+        when(batchService.insert(anyList())).thenAnswer(invocation -> {
+            List<String> names = invocation.getArgument(0);
+            if (names.contains("bad")) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            return projects(names);
+        });
+
+        CompletableFuture<TestProjects> good = CompletableFuture.supplyAsync(() -> create("good"));
+        CompletableFuture<TestProjects> bad = CompletableFuture.supplyAsync(() -> create("bad"));
+
+        assertThat(good.get(5, TimeUnit.SECONDS).getName()).isEqualTo("good");
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DataIntegrityViolationException.class);
+        // The group, then each row on its own
+        verify(batchService, times(3)).insert(anyList());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() throws Exception {
+        groupCommit = start(2, Duration.ofSeconds(10));
+        when(batchService.insert(anyList())).thenThrow(new QueryTimeoutException("outcome unknown"));
+
+        CompletableFuture<TestProjects> first = CompletableFuture.supplyAsync(() -> create("a"));
+        CompletableFuture<TestProjects> second = CompletableFuture.supplyAsync(() -> create("b"));
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryTimeoutException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryTimeoutException.class);
+        verify(batchService, times(1)).insert(anyList());
+    }
+
+    @Test
+    void collectorSurvivesAnError() throws Exception {
+        groupCommit = start(1, Duration.ofSeconds(10));
+        when(batchService.insert(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenAnswer(invocation -> projects(invocation.getArgument(0)));
+
+        assertThatThrownBy(() -> groupCommit.create("a")).isInstanceOf(IllegalStateException.class);
+        assertThat(groupCommit.create("b").getName()).isEqualTo("b");
+    }
+
+    @Test
+    void timeoutBeforeInsertRejectsTheRow() throws Exception {
+        groupCommit = start(1, Duration.ofMillis(200));
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchService.insert(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return projects(invocation.getArgument(0));
+        });
+
+        // The first row holds the collector, so the second is still queued when it times out
+        CompletableFuture<TestProjects> first = CompletableFuture.supplyAsync(() -> create("first"));
+        Thread.sleep(50);
+        assertThatThrownBy(() -> groupCommit.create("second")).isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        assertThat(groupCommit.create("third").getName()).isEqualTo("third");
+        // The abandoned row was never inserted
+        verify(batchService, times(2)).insert(anyList());
+    }
+
+    @Test
+    void interruptBeforeInsertRejectsTheRow() throws Exception {
+        groupCommit = start(1, Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchService.insert(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return projects(invocation.getArgument(0));
+        });
+
+        CompletableFuture<TestProjects> first = CompletableFuture.supplyAsync(() -> create("first"));
+        Thread.sleep(50);
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> groupCommit.create("second")).isInstanceOf(InterruptedException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getName()).isEqualTo("first");
+        verify(batchService, times(1)).insert(anyList());
+    }
+
+    private TestProjectsGroupCommit start(int maxBatchSize, Duration timeout) {
+        TestProjectsGroupCommit groupCommit = new TestProjectsGroupCommit(true, maxBatchSize, Duration.ofMillis(200), 100, timeout);
+        ReflectionTestUtils.setField(groupCommit, "testProjectsBatchService", batchService);
+        ReflectionTestUtils.setField(groupCommit, "eventPublisher", mock(ApplicationEventPublisher.class));
+        groupCommit.setTransactionManager(mock(PlatformTransactionManager.class));
+        groupCommit.start();
+        return groupCommit;
+    }
+
+    private TestProjects create(String name) {
+        try {
+            return groupCommit.create(name);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<TestProjects> projects(List<String> names) {
+        List<TestProjects> projects = new ArrayList<>();
+        for (String name : names) {
+            TestProjects project = new TestProjects();
+            project.setId(projects.size() + 1);
+            project.setName(name);
+            projects.add(project);
+        }
+        return projects;
+    }
+}
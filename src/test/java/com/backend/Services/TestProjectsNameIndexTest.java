@@ -0,0 +1,123 @@
+package com.backend.Services;
+
+import com.backend.Models.TestProjectsChangedEvent;
+import com.backend.Models.TestProjectsView;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestProjectsNameIndexTest {
+
+    @Test
+    void repeatedUpdatesDoNotGrowThePostings() {
+        TestProjectsNameIndex index = new TestProjectsNameIndex();
+        index.onChange(created(1, "aaaaaa"));
+        long postings = index.postings();
+
+        for (int i = 0; i < 100; i++) {
+            index.onChange(updated(1, i % 2 == 0 ? "bbbbbb" : "aaaaaa"));
+        }
+
+        assertThat(index.postings()).isEqualTo(postings);
+        assertThat(index.search("aaa", 10)).containsExactly(new TestProjectsView(1, "aaaaaa"));
+        assertThat(index.search("bbb", 10)).isEmpty();
+    }
+
+    @Test
+    void deletesRemoveThePostings() {
+        TestProjectsNameIndex index = new TestProjectsNameIndex();
+        index.onChange(created(1, "alpha"));
+        index.onChange(created(2, "beta"));
+        index.onChange(TestProjectsChangedEvent.deleted(1));
+        index.onChange(TestProjectsChangedEvent.deleted(2));
+
+        assertThat(index.postings()).isZero();
+        assertThat(index.search("a", 10)).isEmpty();
+    }
+
+    @Test
+    void shortQueriesMatchSubstrings() {
+        TestProjectsNameIndex index = new TestProjectsNameIndex();
+        index.onChange(created(1, "Alpha"));
+        index.onChange(created(2, "Beta"));
+        index.onChange(created(3, "Gamma"));
+
+        // Prefix matches come first
+        assertThat(index.search("b", 10)).extracting(TestProjectsView::id).containsExactly(2);
+        assertThat(index.search("a", 10)).extracting(TestProjectsView::id).startsWith(1).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(index.search("mm", 10)).extracting(TestProjectsView::id).containsExactly(3);
+        assertThat(index.search("lph", 10)).extracting(TestProjectsView::id).containsExactly(1);
+        assertThat(index.search("amma", 10)).extracting(TestProjectsView::id).containsExactly(3);
+        assertThat(index.search("a", 2)).hasSize(2);
+    }
+
+    @Test
+    void failedStartupLoadIsRetried() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("database is starting up"))
+                .thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(1);
+        when(resultSet.getString(2)).thenReturn("Alpha");
+
+        TestProjectsNameIndex index = new TestProjectsNameIndex();
+        ReflectionTestUtils.setField(index, "dataSource", dataSource);
+        index.buildOnStartup();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!index.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("alp", 10)).containsExactly(new TestProjectsView(1, "Alpha"));
+    }
+
+    @Test
+    void intHashSetMatchesHashSet() {
+        Random random = new Random(42);
+        TestProjectsNameIndex.IntHashSet set = new TestProjectsNameIndex.IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextBoolean()) {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+        }
+        for (int value = 0; value < 500; value++) {
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+        Set<Integer> iterated = new HashSet<>();
+        set.forEachWhile(iterated::add);
+        assertThat(iterated).isEqualTo(expected);
+    }
+
+    private static TestProjectsChangedEvent created(int id, String name) {
+        return TestProjectsChangedEvent.created(new TestProjectsView(id, name));
+    }
+
+    private static TestProjectsChangedEvent updated(int id, String name) {
+        return TestProjectsChangedEvent.updated(new TestProjectsView(id, name));
+    }
+}
@@ -0,0 +1,71 @@
+package com.backend.Services;
+
+import com.backend.Config.ReadRouting;
+import com.backend.Models.TestProjectsView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestProjectsPageCoalescerTest {
+
+    private static final List<TestProjectsView> REPLICA_PAGE = List.of(new TestProjectsView(1, "before"));
+    private static final List<TestProjectsView> PRIMARY_PAGE = List.of(new TestProjectsView(1, "after"));
+
+    private final TestProjectsPageCoalescer coalescer = new TestProjectsPageCoalescer();
+
+    @AfterEach
+    void clearRouting() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    void pinnedRequestDoesNotJoinAReplicaRead() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<TestProjectsView>> replicaRead = CompletableFuture.supplyAsync(() -> coalescer.page(0, 10, () -> {
+            loading.countDown();
+            await(release);
+            return REPLICA_PAGE;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ReadRouting.forcePrimary();
+        assertThat(coalescer.page(0, 10, () -> PRIMARY_PAGE)).isEqualTo(PRIMARY_PAGE);
+
+        release.countDown();
+        assertThat(replicaRead.get(5, TimeUnit.SECONDS)).isEqualTo(REPLICA_PAGE);
+    }
+
+    @Test
+    void unpinnedRequestsStillShareOneQuery() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<TestProjectsView>> first = CompletableFuture.supplyAsync(() -> coalescer.page(0, 10, () -> {
+            loading.countDown();
+            await(release);
+            return REPLICA_PAGE;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<List<TestProjectsView>> second = CompletableFuture.supplyAsync(() -> coalescer.page(0, 10, () -> PRIMARY_PAGE));
+        // Let the second request reach the in-flight load before it completes
+        Thread.sleep(100);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(REPLICA_PAGE);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(REPLICA_PAGE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.backend;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Records the SQL of every statement executed through the application's DataSource.
+// Statements Hikari runs itself (connectionInitSql) happen once per physical connection and are not seen here.
+public class StatementCounter {
+
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+    public void reset() {
+        executed.clear();
+    }
+
+    public List<String> executed() {
+        synchronized (executed) {
+            return List.copyOf(executed);
+        }
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) -> {
+            if (result instanceof Connection connection) {
+                return wrap(connection);
+            }
+            return result;
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S wrap(Class<S> type, S statement, String preparedSql) {
+        return proxy(type, statement, (method, args, result) -> {
+            if (method.getName().startsWith("execute")) {
+                executed.add(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql);
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            return afterCall.apply(method, args, result);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private interface AfterCall {
+        Object apply(Method method, Object[] args, Object result);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSource(ObjectProvider<StatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}